@@ -0,0 +1,49 @@
+package com.example.userauthenticationapi;
+
+import com.example.tokenverifier.SigningKeyRing;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.model.enums.Role;
+import com.example.userauthenticationapi.service.JwtService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain-Java stand-ins for the beans the benchmarks need, so no Spring context is started.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String SECRET_KEY = "dGVzdC1zZWNyZXQta2V5LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzMjU2LXNpZ25pbmc";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtService jwtService() {
+        return new JwtService(SigningKeyRing.hmac(SECRET_KEY));
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.org");
+        user.setUsername("user" + id);
+        user.setFullName("User " + id);
+        user.setPassword("$2a$04$abcdefghijklmnopqrstuuKqvIHzJ5bTbXw6GXB9cV9HcBCsuC8Y2");
+        user.setRole(id % 10 == 0 ? Role.Admin : Role.User);
+        user.setAccountVerified(true);
+        user.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        user.setUpdatedAt(LocalDateTime.of(2025, 6, 1, 12, 0).plusNanos(id * 1_000));
+        user.setVersion(id % 7);
+        return user;
+    }
+
+    public static List<User> users(int size) {
+        List<User> users = new ArrayList<>(size);
+
+        for (int i = 1; i <= size; i++) {
+            users.add(user(i));
+        }
+
+        return users;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.userauthenticationapi.diagnostics;
+
+import com.example.userauthenticationapi.diagnostics.jfr.UserLookupEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost the auth metrics and JFR events add on top of the work they measure.
+ * JFR is not recording in this fork, so the event benchmark is the disabled-event cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InstrumentationOverheadBenchmark {
+
+    private Timer timer;
+
+    @Setup
+    public void setUp() {
+        timer = Timer.builder("auth.password")
+                .tag("operation", "matches")
+                .tag("outcome", "match")
+                .publishPercentileHistogram()
+                .register(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public long baseline() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public long timerRecord() {
+        long start = System.nanoTime();
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return start;
+    }
+
+    @Benchmark
+    public long disabledJfrEvent() {
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        long now = System.nanoTime();
+        event.finish("found");
+        return now;
+    }
+}
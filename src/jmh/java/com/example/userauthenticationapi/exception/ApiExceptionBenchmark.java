@@ -0,0 +1,60 @@
+package com.example.userauthenticationapi.exception;
+
+import com.example.userauthenticationapi.dto.response.ApiErrorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Failure path of a lookup: throw, catch and build the error response, with and without
+ * stack capture. {@code depth} adds frames to show how capture cost grows with the stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiExceptionBenchmark {
+
+    @Param({"false", "true"})
+    private boolean stackTraces;
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Setup
+    public void setUp() {
+        ApiException.setStackTracesEnabled(stackTraces);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ApiException.setStackTracesEnabled(false);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiErrorResponse> notFound() {
+        try {
+            return lookup(depth);
+        } catch (ApiException e) {
+            return handler.handleApiException(e);
+        }
+    }
+
+    private ResponseEntity<ApiErrorResponse> lookup(int remaining) {
+        if (remaining == 0) {
+            throw new ResourceNotFoundException("User not found.");
+        }
+
+        return lookup(remaining - 1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.userauthenticationapi.model;
+
+import com.example.userauthenticationapi.BenchmarkFixtures;
+import com.example.userauthenticationapi.model.converter.RoleConverter;
+import com.example.userauthenticationapi.model.enums.Role;
+import com.example.userauthenticationapi.security.model.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Role resolution as it happens on every entity load and every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoleBenchmark {
+
+    @Param({"User", "Admin", "admin"})
+    private String value;
+
+    private final RoleConverter roleConverter = new RoleConverter();
+
+    private Role role;
+
+    private UserPrincipal principal;
+
+    @Setup
+    public void setUp() {
+        role = Role.fromString(value);
+
+        User user = BenchmarkFixtures.user(1);
+        user.setRole(role);
+        principal = new UserPrincipal(user);
+    }
+
+    @Benchmark
+    public Role fromString() {
+        return Role.fromString(value);
+    }
+
+    @Benchmark
+    public Role convertToEntityAttribute() {
+        return roleConverter.convertToEntityAttribute(value);
+    }
+
+    @Benchmark
+    public String convertToDatabaseColumn() {
+        return roleConverter.convertToDatabaseColumn(role);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+}
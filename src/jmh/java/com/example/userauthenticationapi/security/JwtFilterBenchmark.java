@@ -0,0 +1,90 @@
+package com.example.userauthenticationapi.security;
+
+import com.example.userauthenticationapi.BenchmarkFixtures;
+import com.example.userauthenticationapi.activity.UserActivityTracker;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.security.filter.JwtFilter;
+import com.example.userauthenticationapi.security.model.UserPrincipal;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
+import com.example.userauthenticationapi.service.JwtService;
+import com.example.userauthenticationapi.service.MyUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtFilter}: header parse, token verification,
+ * deny-list check against {@link TokenRevocationList}, user load from an in-memory stub,
+ * security context population and the {@link UserActivityTracker} merge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private GenericApplicationContext applicationContext;
+
+    private JwtFilter jwtFilter;
+
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user(1);
+        UserPrincipal principal = new UserPrincipal(user);
+
+        applicationContext = new GenericApplicationContext();
+        applicationContext.registerBean(MyUserDetailsService.class, () -> new MyUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return principal;
+            }
+        });
+        applicationContext.refresh();
+
+        // Only isRevoked is exercised, which never touches the repository.
+        TokenRevocationList revocationList = new TokenRevocationList(null, Duration.ofSeconds(5), 1000);
+
+        JwtService jwtService = BenchmarkFixtures.jwtService();
+        // Never flushed during the run, so the tracker measures only the in-memory merge.
+        UserActivityTracker activityTracker = new UserActivityTracker(null, new SimpleMeterRegistry());
+
+        jwtFilter = new JwtFilter(jwtService, applicationContext, revocationList, activityTracker);
+        authorization = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/username/user1");
+        request.addHeader("Authorization", authorization);
+
+        try {
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
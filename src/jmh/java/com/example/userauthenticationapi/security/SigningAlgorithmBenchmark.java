@@ -0,0 +1,58 @@
+package com.example.userauthenticationapi.security;
+
+import com.example.tokenverifier.SigningKeyRing;
+import com.example.userauthenticationapi.BenchmarkFixtures;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify cost of an access token per algorithm. HMAC is the baseline; ES256 and EdDSA are
+ * the asymmetric options downstream services can verify through the JWKS endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"HS384", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtService jwtService;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SigningKeyRing signingKeyRing = algorithm.startsWith("HS")
+                ? SigningKeyRing.hmac(BenchmarkFixtures.SECRET_KEY)
+                : new SigningKeyRing(SigningKeyRing.generate("bench", algorithm), List.of(), null);
+
+        jwtService = new JwtService(signingKeyRing);
+        user = BenchmarkFixtures.user(1);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtService.extractAllClaims(token);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.BenchmarkFixtures;
+import com.example.userauthenticationapi.dto.request.TokenIntrospectionDto;
+import com.example.userauthenticationapi.dto.response.TokenIntrospection;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.repo.UserRepo;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One introspection call per invocation at the given batch size; divide by {@code batchSize} for
+ * the per-token cost. The user repository is an in-memory stand-in, so the figure excludes the
+ * single owner query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenIntrospectionBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int batchSize;
+
+    private TokenIntrospectionService introspectionService;
+
+    private TokenIntrospectionDto request;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService();
+        List<User> users = BenchmarkFixtures.users(batchSize);
+        Map<String, User> byUsername = users.stream().collect(Collectors.toMap(User::getUsername, Function.identity()));
+
+        UserRepo userRepo = (UserRepo) Proxy.newProxyInstance(
+                UserRepo.class.getClassLoader(),
+                new Class<?>[]{UserRepo.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findAllByUsernameIn")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<User> found = new ArrayList<>();
+                    for (Object username : (Collection<?>) args[0]) {
+                        found.add(byUsername.get(username));
+                    }
+                    return found;
+                });
+
+        introspectionService = new TokenIntrospectionService(
+                jwtService,
+                new TokenRevocationList(null, Duration.ofSeconds(5), 1000),
+                userRepo
+        );
+
+        List<String> tokens = new ArrayList<>(batchSize);
+        for (User user : users) {
+            tokens.add(jwtService.generateToken(user));
+        }
+
+        request = new TokenIntrospectionDto();
+        request.setTokens(tokens);
+    }
+
+    @Benchmark
+    public List<TokenIntrospection> introspect() {
+        return introspectionService.introspect(request);
+    }
+}
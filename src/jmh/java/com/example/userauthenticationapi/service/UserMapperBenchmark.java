@@ -0,0 +1,54 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.BenchmarkFixtures;
+import com.example.userauthenticationapi.dto.response.UserResponse;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.service.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private UserMapper userMapper;
+
+    private User user;
+
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper(null);
+        user = BenchmarkFixtures.user(1);
+        users = BenchmarkFixtures.users(size);
+    }
+
+    @Benchmark
+    public UserResponse toDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public List<UserResponse> toListDto() {
+        return userMapper.toListDto(users);
+    }
+
+    @Benchmark
+    public String toETag() {
+        return userMapper.toETag(user.getId(), user.getVersion());
+    }
+}
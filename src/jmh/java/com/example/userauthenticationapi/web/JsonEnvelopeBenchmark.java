@@ -0,0 +1,82 @@
+package com.example.userauthenticationapi.web;
+
+import com.example.userauthenticationapi.BenchmarkFixtures;
+import com.example.userauthenticationapi.dto.response.ApiSuccessResponse;
+import com.example.userauthenticationapi.dto.response.UserResponse;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.service.mapper.UserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/v1/user} serialization: the buffered envelope against the streamed one,
+ * with and without {@code ?fields}. Each benchmark returns the payload size in bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonEnvelopeBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private JsonEnvelopeStreamer envelopeStreamer;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setFilterProvider(FieldSelection.allFields());
+        envelopeStreamer = new JsonEnvelopeStreamer(objectMapper);
+        userMapper = new UserMapper(null);
+        users = BenchmarkFixtures.users(size);
+    }
+
+    @Benchmark
+    public int buffered() throws IOException {
+        return objectMapper.writeValueAsBytes(
+                new ApiSuccessResponse<>(true, "Success!", userMapper.toListDto(users), LocalDateTime.now())
+        ).length;
+    }
+
+    @Benchmark
+    public int streamed() throws IOException {
+        return stream(null);
+    }
+
+    @Benchmark
+    public int streamedSelectedFields() throws IOException {
+        return stream("id,username");
+    }
+
+    private int stream(String fields) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        envelopeStreamer.<UserResponse>streamList("Success!", UserResponse.class, fields,
+                        sink -> users.forEach(user -> sink.accept(userMapper.toDto(user))))
+                .writeTo(out);
+
+        return out.size();
+    }
+}
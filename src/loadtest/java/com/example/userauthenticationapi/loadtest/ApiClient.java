@@ -0,0 +1,143 @@
+package com.example.userauthenticationapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin HTTP client for the endpoints the workload drives. Calls return the response status
+ * so the driver can count non-2xx answers as errors.
+ */
+public class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    public int signUp(String email, String username, String password) throws IOException, InterruptedException {
+        return post("/api/v1/authentication/signup",
+                Map.of("email", email, "username", username, "password", password)).statusCode();
+    }
+
+    public int login(String email, String password) throws IOException, InterruptedException {
+        return post("/api/v1/authentication/login", Map.of("email", email, "password", password)).statusCode();
+    }
+
+    /**
+     * Returns the issued access token, or {@code null} when verification was rejected.
+     */
+    public String verify(String email, String code) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/api/v1/authentication/verification-code/verify",
+                Map.of("email", email, "verificationCode", code));
+
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+
+        return objectMapper.readTree(response.body()).path("data").path("accessToken").asText();
+    }
+
+    public int session(String token) throws IOException, InterruptedException {
+        return get("/api/v1/authentication/check-session", token);
+    }
+
+    public int read(String token, String username) throws IOException, InterruptedException {
+        return get("/api/v1/user/by-username/" + username, token);
+    }
+
+    public int batchRead(String token, List<String> usernames) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/user/batch"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(Map.of("usernames", usernames))))
+                .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public int createUser(String email, String username, String password) throws IOException, InterruptedException {
+        return post("/api/v1/user", Map.of("email", email, "username", username, "password", password)).statusCode();
+    }
+
+    public long userId(String username) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/user/by-username/" + username))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).path("data").path("id").asLong();
+    }
+
+    /**
+     * Returns the current {@code ETag} of the user, or {@code null} when the read was rejected.
+     */
+    public String eTag(long id) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/user/by-id/" + id))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+
+        return response.headers().firstValue("ETag").orElse(null);
+    }
+
+    public int updateUser(long id, String ifMatch, Map<String, String> body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/user/by-id/" + id))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+
+        if (ifMatch != null) {
+            request.header("If-Match", ifMatch);
+        }
+
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<String> post(String path, Map<String, String> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private int get(String path, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
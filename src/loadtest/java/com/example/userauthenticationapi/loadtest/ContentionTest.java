@@ -0,0 +1,186 @@
+package com.example.userauthenticationapi.loadtest;
+
+import com.example.userauthenticationapi.UserAuthenticationApiApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-model contention benchmark for {@code PUT /api/v1/user/by-id/{id}}: a fixed number of
+ * threads keep updating a handful of hot users, once per locking mode. Optimistic clients read the
+ * {@code ETag}, send it as {@code If-Match} and retry on 409/412; pessimistic clients send the
+ * update blindly and queue on the row lock instead. Run with
+ * {@code ./gradlew contentionTest -Pcontention.threads=32 -Pcontention.users=2}.
+ */
+public final class ContentionTest {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private static final String PASSWORD = "contention-password";
+
+    private ContentionTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.parseInt(property("threads", "16"));
+        int users = Integer.parseInt(property("users", "4"));
+        int maxAttempts = Integer.parseInt(property("max-attempts", "20"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(property("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(property("duration", "30")));
+
+        List<Result> results = new ArrayList<>();
+
+        for (String mode : property("modes", "OPTIMISTIC,PESSIMISTIC").split(",")) {
+            System.out.printf("Running %s: %d threads on %d users for %ds after %ds warm-up%n",
+                    mode.strip(), threads, users, duration.toSeconds(), warmup.toSeconds());
+            results.add(run(mode.strip(), threads, users, maxAttempts, warmup, duration));
+        }
+
+        System.out.printf("%n%-12s %8s %8s %9s %10s | %9s %9s %9s%n",
+                "mode", "updates", "failed", "upd/s", "conflicts", "p50 ms", "p99 ms", "max ms");
+
+        for (Result result : results) {
+            Histogram latency = result.latency();
+
+            System.out.printf(Locale.ROOT, "%-12s %8d %8d %9.1f %10d | %9.2f %9.2f %9.2f%n",
+                    result.mode().toLowerCase(Locale.ROOT),
+                    latency.getTotalCount(),
+                    result.failed(),
+                    latency.getTotalCount() / (duration.toMillis() / 1000.0),
+                    result.conflicts(),
+                    latency.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    latency.getMaxValue() / NANOS_PER_MILLI);
+        }
+
+        System.out.println("\nLatency covers the whole logical update, including re-reads and retries after a conflict.");
+    }
+
+    private static Result run(String mode, int threads, int users, int maxAttempts, Duration warmup, Duration duration)
+            throws Exception {
+        boolean optimistic = "OPTIMISTIC".equalsIgnoreCase(mode);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(UserAuthenticationApiApplication.class)
+                     .properties(applicationProperties(postgres, mode))
+                     .initializers(new StubSendGridInitializer(new StubSendGrid(Duration.ZERO)))
+                     .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            ApiClient client = new ApiClient("http://localhost:" + port);
+            List<HotUser> hotUsers = seed(client, users);
+
+            Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+            LongAdder conflicts = new LongAdder();
+            LongAdder failed = new LongAdder();
+
+            long measureFrom = System.nanoTime() + warmup.toNanos();
+            long deadline = measureFrom + duration.toNanos();
+
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                for (int i = 0; i < threads; i++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            HotUser user = hotUsers.get(ThreadLocalRandom.current().nextInt(hotUsers.size()));
+                            long start = System.nanoTime();
+                            int retries = update(client, user, optimistic, maxAttempts);
+                            long end = System.nanoTime();
+
+                            if (start < measureFrom) {
+                                continue;
+                            }
+
+                            if (retries < 0) {
+                                failed.increment();
+                                conflicts.add(maxAttempts - 1);
+                            } else {
+                                latency.recordValue(Math.min(end - start, MAX_TRACKABLE_NANOS));
+                                conflicts.add(retries);
+                            }
+                        }
+                    });
+                }
+            }
+
+            return new Result(mode, latency, conflicts.sum(), failed.sum());
+        }
+    }
+
+    /**
+     * Returns how many attempts were lost to a conflict before one succeeded, or {@code -1} when
+     * the update failed or ran out of attempts.
+     */
+    private static int update(ApiClient client, HotUser user, boolean optimistic, int maxAttempts) {
+        try {
+            for (int attempt = 0; attempt < maxAttempts; attempt++) {
+                String ifMatch = optimistic ? client.eTag(user.id()) : null;
+                int status = client.updateUser(user.id(), ifMatch, user.body());
+
+                if (status / 100 == 2) {
+                    return attempt;
+                }
+
+                if (status != 409 && status != 412) {
+                    return -1;
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+
+        return -1;
+    }
+
+    private static List<HotUser> seed(ApiClient client, int users) throws IOException, InterruptedException {
+        List<HotUser> hotUsers = new ArrayList<>(users);
+
+        for (int i = 0; i < users; i++) {
+            String username = "hot" + i;
+            String email = username + "@example.org";
+
+            if (client.createUser(email, username, PASSWORD) / 100 != 2) {
+                throw new IllegalStateException("Could not create " + username);
+            }
+
+            hotUsers.add(new HotUser(client.userId(username),
+                    Map.of("email", email, "username", username, "password", PASSWORD)));
+        }
+
+        return hotUsers;
+    }
+
+    private static Map<String, Object> applicationProperties(EmbeddedPostgres postgres, String mode) {
+        Map<String, Object> properties = LoadTest.applicationProperties(postgres);
+        properties.put("spring.user.update.locking", mode);
+        return properties;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("contention." + name, defaultValue);
+    }
+
+    private record HotUser(long id, Map<String, String> body) {
+    }
+
+    private record Result(String mode, Histogram latency, long conflicts, long failed) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.userauthenticationapi.loadtest;
+
+import com.example.userauthenticationapi.UserAuthenticationApiApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Boots the application on a random port against an embedded PostgreSQL with SendGrid stubbed out,
+ * seeds verified accounts, drives an open-model mixed workload through real HTTP and prints
+ * latency percentiles. Run with {@code ./gradlew loadTest -Ploadtest.rate=300 -Ploadtest.duration=60};
+ * add {@code -Ploadtest.virtual-threads=true} to compare against virtual-thread mode.
+ */
+public final class LoadTest {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        StubSendGrid sendGrid = new StubSendGrid(settings.emailLatency());
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(UserAuthenticationApiApplication.class)
+                     .properties(applicationProperties(postgres))
+                     .initializers(new StubSendGridInitializer(sendGrid))
+                     .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            Workload workload = new Workload(new ApiClient("http://localhost:" + port), sendGrid);
+
+            System.out.printf("Seeding %d verified users...%n", settings.users());
+            workload.seed(settings.users());
+
+            System.out.printf("Running %.0f req/s for %ds after %ds warm-up, max %d in flight, mix %s%n",
+                    settings.ratePerSecond(), settings.duration().toSeconds(), settings.warmup().toSeconds(),
+                    settings.maxConcurrency(), settings.mix());
+            Map<Operation, OperationStats> stats = new OpenModelDriver(settings, workload).run();
+
+            report(settings, stats, System.out);
+            writeHistograms(stats, Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest")));
+        }
+    }
+
+    static Map<String, Object> applicationProperties(EmbeddedPostgres postgres) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("POSTGRESQL_URL", postgres.getJdbcUrl("postgres", "postgres"));
+        properties.put("POSTGRESQL_USERNAME", "postgres");
+        properties.put("POSTGRESQL_PASSWORD", "postgres");
+        properties.put("JWT_SECRET_KEY", "bG9hZC10ZXN0LXNlY3JldC1rZXktdGhhdC1pcy1sb25nLWVub3VnaC1mb3ItaHMyNTY");
+        properties.put("GOOGLE_CLIENT_ID", "load-test");
+        properties.put("GOOGLE_CLIENT_SECRET", "load-test");
+        properties.put("FACEBOOK_CLIENT_ID", "load-test");
+        properties.put("FACEBOOK_CLIENT_SECRET", "load-test");
+        properties.put("SENDGRID-API-KEY", "load-test");
+        properties.put("TEMPLATE-ID", "load-test");
+        properties.put("SENDER-NAME", "load-test@example.org");
+        properties.put("spring.threads.virtual.enabled", System.getProperty("loadtest.virtual-threads", "false"));
+        properties.put("server.port", 0);
+        properties.put("logging.level.root", "WARN");
+        return properties;
+    }
+
+    private static void report(LoadTestSettings settings, Map<Operation, OperationStats> stats, PrintStream out) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+
+        out.printf("%n%-8s %8s %8s %8s %9s | %9s %9s %9s %9s %9s | %12s%n",
+                "op", "count", "errors", "skipped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "svc p99 ms");
+
+        stats.forEach((operation, operationStats) -> {
+            Histogram response = operationStats.getResponseTime();
+            Histogram service = operationStats.getServiceTime();
+
+            out.printf(Locale.ROOT, "%-8s %8d %8d %8d %9.1f | %9.2f %9.2f %9.2f %9.2f %9.2f | %12.2f%n",
+                    operation.name().toLowerCase(Locale.ROOT),
+                    response.getTotalCount(),
+                    operationStats.getErrors(),
+                    operationStats.getSkipped(),
+                    response.getTotalCount() / seconds,
+                    millis(response, 50),
+                    millis(response, 90),
+                    millis(response, 99),
+                    millis(response, 99.9),
+                    response.getMaxValue() / NANOS_PER_MILLI,
+                    millis(service, 99));
+        });
+
+        out.println("\nResponse times count from the scheduled arrival; svc is time from send to answer.");
+    }
+
+    private static void writeHistograms(Map<Operation, OperationStats> stats, Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Path file = directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().getResponseTime().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+
+        System.out.println("Percentile distributions (ms) written to " + directory.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.userauthenticationapi.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load-test knobs, read from {@code loadtest.*} system properties (passed through as
+ * {@code -Ploadtest.rate=...} by the {@code loadTest} Gradle task).
+ */
+public record LoadTestSettings(
+        double ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        int maxConcurrency,
+        int users,
+        Map<Operation, Integer> mix,
+        Duration emailLatency
+) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Double.parseDouble(property("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(property("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(property("duration", "60"))),
+                Integer.parseInt(property("concurrency", "256")),
+                Integer.parseInt(property("users", "200")),
+                parseMix(property("mix", "sign-up:1,login:2,verify:2,session:10,read:10,batch-read:1")),
+                Duration.ofMillis(Long.parseLong(property("email-latency-ms", "50")))
+        );
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            weights.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+
+        return weights;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.userauthenticationapi.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: arrivals follow a fixed schedule at the configured rate regardless of how
+ * fast earlier requests complete. Each request runs on its own virtual thread, capped at
+ * {@code maxConcurrency} in flight; waiting for that cap counts toward response time.
+ */
+public class OpenModelDriver {
+
+    private final LoadTestSettings settings;
+
+    private final Workload workload;
+
+    private final Operation[] schedule;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    public OpenModelDriver(LoadTestSettings settings, Workload workload) {
+        this.settings = settings;
+        this.workload = workload;
+        this.schedule = weightedSchedule(settings.mix());
+
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public Map<Operation, OperationStats> run() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.ratePerSecond());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        Semaphore inFlight = new Semaphore(settings.maxConcurrency());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+
+                if (intended >= end) {
+                    break;
+                }
+
+                parkUntil(intended);
+
+                Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                executor.execute(() -> send(operation, intended, intended >= measureFrom, inFlight));
+            }
+        }
+
+        return stats;
+    }
+
+    private void send(Operation operation, long intended, boolean measured, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        long sent = System.nanoTime();
+        Boolean success;
+
+        try {
+            success = workload.execute(operation);
+        } finally {
+            inFlight.release();
+        }
+
+        long done = System.nanoTime();
+
+        if (!measured) {
+            return;
+        }
+
+        if (success == null) {
+            stats.get(operation).skip();
+        } else {
+            stats.get(operation).record(done - intended, done - sent, success);
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] schedule = new Operation[total];
+        int index = 0;
+
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[index++] = entry.getKey();
+            }
+        }
+
+        return schedule;
+    }
+}
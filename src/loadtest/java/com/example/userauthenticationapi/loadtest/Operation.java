@@ -0,0 +1,5 @@
+package com.example.userauthenticationapi.loadtest;
+
+public enum Operation {
+    SIGN_UP, LOGIN, VERIFY, SESSION, READ, BATCH_READ
+}
@@ -0,0 +1,54 @@
+package com.example.userauthenticationapi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation results. Response time runs from the scheduled arrival, so time spent queued
+ * behind a slow system is counted (no coordinated omission); service time runs from the moment
+ * the request was actually sent.
+ */
+public class OperationStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Histogram responseTime = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+
+    private final Histogram serviceTime = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder skipped = new LongAdder();
+
+    public void record(long responseNanos, long serviceNanos, boolean success) {
+        responseTime.recordValue(Math.min(responseNanos, MAX_TRACKABLE_NANOS));
+        serviceTime.recordValue(Math.min(serviceNanos, MAX_TRACKABLE_NANOS));
+
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public void skip() {
+        skipped.increment();
+    }
+
+    public Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.userauthenticationapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SendGrid client that never leaves the process: it waits a configurable latency, keeps the
+ * verification code per recipient so the driver can complete the verify step, and answers 202.
+ */
+public class StubSendGrid extends SendGrid {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, String> mailbox = new ConcurrentHashMap<>();
+
+    private final Duration latency;
+
+    public StubSendGrid(Duration latency) {
+        super("stub");
+        this.latency = latency;
+    }
+
+    @Override
+    public Response api(Request request) throws IOException {
+        JsonNode personalization = objectMapper.readTree(request.getBody()).path("personalizations").path(0);
+        String email = personalization.path("to").path(0).path("email").asText();
+        String code = personalization.path("dynamic_template_data").path("verificationCode").asText();
+
+        sleep();
+        mailbox.put(email, code);
+
+        return new Response(202, "", Map.of());
+    }
+
+    /**
+     * Removes and returns the last code mailed to {@code email}, or {@code null} if none arrived yet.
+     */
+    public String takeCode(String email) {
+        return mailbox.remove(email);
+    }
+
+    private void sleep() throws IOException {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending email", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.userauthenticationapi.loadtest;
+
+import com.sendgrid.SendGrid;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Swaps the {@code apiKey} {@link SendGrid} bean from {@code SendGridConfig} for a {@link StubSendGrid}.
+ * Registered as a bean so it runs after configuration classes have contributed their definitions.
+ */
+public class StubSendGridInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+
+    private final StubSendGrid sendGrid;
+
+    public StubSendGridInitializer(StubSendGrid sendGrid) {
+        this.sendGrid = sendGrid;
+    }
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+        context.registerBean("stubSendGridRegistrar", BeanDefinitionRegistryPostProcessor.class, () -> new Registrar(sendGrid));
+    }
+
+    private record Registrar(StubSendGrid sendGrid) implements BeanDefinitionRegistryPostProcessor {
+
+        @Override
+        public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+            registry.removeBeanDefinition("apiKey");
+            registry.registerBeanDefinition("apiKey", new RootBeanDefinition(SendGrid.class, () -> sendGrid));
+        }
+
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        }
+    }
+}
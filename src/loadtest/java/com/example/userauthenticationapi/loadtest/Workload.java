@@ -0,0 +1,176 @@
+package com.example.userauthenticationapi.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The user journeys behind each {@link Operation}. Seeded accounts cycle idle → login → pending
+ * verification → verify → idle, so a login and a verify never race on the same account.
+ * Reads use the tokens issued while seeding.
+ */
+public class Workload {
+
+    private static final String PASSWORD = "load-test-password";
+
+    private static final int BATCH_SIZE = 20;
+
+    private final ApiClient client;
+
+    private final StubSendGrid sendGrid;
+
+    private final Queue<Account> idle = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Account> pendingVerification = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong signUps = new AtomicLong();
+
+    private List<Account> accounts = List.of();
+
+    public Workload(ApiClient client, StubSendGrid sendGrid) {
+        this.client = client;
+        this.sendGrid = sendGrid;
+    }
+
+    public void seed(int users) throws Exception {
+        List<Future<Account>> futures = new ArrayList<>(users);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+            for (int i = 0; i < users; i++) {
+                String username = "seed" + i;
+                futures.add(executor.submit(() -> register(username)));
+            }
+        }
+
+        List<Account> seeded = new ArrayList<>(users);
+
+        for (Future<Account> future : futures) {
+            seeded.add(future.get());
+        }
+
+        accounts = List.copyOf(seeded);
+        idle.addAll(accounts);
+    }
+
+    /**
+     * Runs one operation: {@code true} on a 2xx answer, {@code false} on any other answer or
+     * transport failure, {@code null} when no account was in the right state to run it.
+     */
+    public Boolean execute(Operation operation) {
+        try {
+            return switch (operation) {
+                case SIGN_UP -> signUp();
+                case LOGIN -> login();
+                case VERIFY -> verify();
+                case SESSION -> isSuccess(client.session(randomAccount().token()));
+                case READ -> {
+                    Account account = randomAccount();
+                    yield isSuccess(client.read(account.token(), account.username()));
+                }
+                case BATCH_READ -> isSuccess(client.batchRead(randomAccount().token(), randomUsernames()));
+            };
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Account register(String username) throws IOException, InterruptedException {
+        String email = username + "@example.org";
+
+        if (!isSuccess(client.signUp(email, username, PASSWORD))) {
+            throw new IllegalStateException("Could not sign up " + username);
+        }
+
+        String token = client.verify(email, awaitCode(email));
+
+        if (token == null) {
+            throw new IllegalStateException("Could not verify " + username);
+        }
+
+        return new Account(email, username, token);
+    }
+
+    private boolean signUp() throws IOException, InterruptedException {
+        String username = "load" + signUps.incrementAndGet();
+        return isSuccess(client.signUp(username + "@example.org", username, PASSWORD));
+    }
+
+    private Boolean login() throws IOException, InterruptedException {
+        Account account = idle.poll();
+
+        if (account == null) {
+            return null;
+        }
+
+        boolean success = isSuccess(client.login(account.email(), PASSWORD));
+        (success ? pendingVerification : idle).add(account);
+        return success;
+    }
+
+    private Boolean verify() throws IOException, InterruptedException {
+        Account account = pendingVerification.poll();
+
+        if (account == null) {
+            return null;
+        }
+
+        String code = sendGrid.takeCode(account.email());
+
+        if (code == null) {
+            pendingVerification.add(account);
+            return null;
+        }
+
+        boolean success = client.verify(account.email(), code) != null;
+        idle.add(account);
+        return success;
+    }
+
+    private String awaitCode(String email) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        while (System.nanoTime() < deadline) {
+            String code = sendGrid.takeCode(email);
+
+            if (code != null) {
+                return code;
+            }
+
+            Thread.sleep(10);
+        }
+
+        throw new IllegalStateException("No verification code mailed to " + email);
+    }
+
+    private Account randomAccount() {
+        return accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+    }
+
+    private List<String> randomUsernames() {
+        List<String> usernames = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            usernames.add(randomAccount().username());
+        }
+
+        return usernames;
+    }
+
+    private static boolean isSuccess(int status) {
+        return status / 100 == 2;
+    }
+
+    private record Account(String email, String username, String token) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.userauthenticationapi.activity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unflushed activity of one user. {@code firstRecordedNanos} is when the oldest coalesced update
+ * arrived and measures how stale the row is by the time it is written.
+ */
+public record UserActivity(LocalDateTime lastSeenAt, LocalDateTime lastLoginAt, long firstRecordedNanos) {
+
+    public UserActivity merge(UserActivity other) {
+        return new UserActivity(
+                latest(lastSeenAt, other.lastSeenAt),
+                latest(lastLoginAt, other.lastLoginAt),
+                Math.min(firstRecordedNanos, other.firstRecordedNanos)
+        );
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
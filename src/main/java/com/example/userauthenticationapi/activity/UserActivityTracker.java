@@ -0,0 +1,165 @@
+package com.example.userauthenticationapi.activity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind tracker for {@code users.last_seen_at} and {@code users.last_login_at}.
+ *
+ * <p>Requests only merge a timestamp into a per-user map entry, so however many requests a user
+ * makes, the database sees at most one row update per user per flush, and each flush is a handful of
+ * multi-row statements. Staleness is bounded by the flush interval plus the flush itself. Entries
+ * are removed before they are written and merged back if the write fails. The tracker stops in a
+ * phase after the web server has drained in-flight requests; {@link #stop()} flushes whatever is
+ * left and anything recorded after that is written through, so a graceful shutdown loses nothing.
+ */
+@Slf4j
+public class UserActivityTracker implements SmartLifecycle {
+
+    private final UserActivityWriter writer;
+
+    private final Map<Long, UserActivity> pending = new ConcurrentHashMap<>();
+
+    private final DistributionSummary flushSize;
+
+    private final Timer flushLag;
+
+    private final Timer flushDuration;
+
+    private final Counter failures;
+
+    private volatile boolean running;
+
+    private volatile boolean stopped;
+
+    public UserActivityTracker(UserActivityWriter writer, MeterRegistry meterRegistry) {
+        this.writer = writer;
+
+        this.flushSize = DistributionSummary.builder("user.activity.flush.size")
+                .baseUnit("users")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("user.activity.flush.lag")
+                .description("Age of the oldest coalesced update when its flush starts")
+                .register(meterRegistry);
+        this.flushDuration = Timer.builder("user.activity.flush")
+                .register(meterRegistry);
+        this.failures = Counter.builder("user.activity.flush.failures")
+                .register(meterRegistry);
+
+        Gauge.builder("user.activity.pending", pending, Map::size)
+                .register(meterRegistry);
+    }
+
+    public void seen(Long userId) {
+        if (userId != null) {
+            pending.merge(userId, new UserActivity(now(), null, System.nanoTime()), UserActivity::merge);
+            flushIfStopped();
+        }
+    }
+
+    public void loggedIn(Long userId) {
+        if (userId != null) {
+            LocalDateTime now = now();
+            pending.merge(userId, new UserActivity(now, now, System.nanoTime()), UserActivity::merge);
+            flushIfStopped();
+        }
+    }
+
+    public int pending() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${spring.user.activity.flush-interval-ms:30000}",
+            initialDelayString = "${spring.user.activity.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        long oldest = started;
+        List<Map.Entry<Long, UserActivity>> batch = new ArrayList<>(pending.size());
+
+        // remove() hands each entry to exactly one flush; updates arriving afterwards start a new one.
+        for (Long userId : pending.keySet()) {
+            UserActivity activity = pending.remove(userId);
+
+            if (activity != null) {
+                batch.add(Map.entry(userId, activity));
+                oldest = Math.min(oldest, activity.firstRecordedNanos());
+            }
+        }
+
+        batch.sort(Map.Entry.comparingByKey());
+        flushLag.record(started - oldest, TimeUnit.NANOSECONDS);
+
+        try {
+            writer.write(batch);
+            flushSize.record(batch.size());
+        } catch (RuntimeException e) {
+            failures.increment();
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), UserActivity::merge));
+            log.warn("Failed to flush activity of {} users, will retry", batch.size(), e);
+        } finally {
+            flushDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void start() {
+        stopped = false;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        flush();
+
+        if (!pending.isEmpty()) {
+            log.warn("Stopped with activity of {} users unflushed", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the web server's own phases, so the tracker stops only once graceful shutdown has let
+     * in-flight requests finish.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    // Nothing flushes on schedule any more once stop() has run, so late updates are written straight away.
+    private void flushIfStopped() {
+        if (stopped) {
+            flush();
+        }
+    }
+
+    // Postgres keeps microseconds; truncating matches what a re-read returns.
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.userauthenticationapi.activity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies coalesced activity timestamps. On Postgres each chunk is one
+ * {@code UPDATE ... FROM (VALUES ...)} statement; {@code GREATEST} keeps the newest value when
+ * several nodes flush the same user. Other databases get a JDBC batch of single-row updates.
+ */
+@RequiredArgsConstructor
+public class UserActivityWriter {
+
+    private static final String POSTGRES_UPDATE = "UPDATE users AS u SET " +
+            "last_seen_at = GREATEST(u.last_seen_at, v.last_seen_at), " +
+            "last_login_at = GREATEST(u.last_login_at, v.last_login_at) " +
+            "FROM (VALUES %s) AS v(id, last_seen_at, last_login_at) WHERE u.id = v.id";
+
+    private static final String VALUES_ROW = "(CAST(? AS bigint), CAST(? AS timestamp), CAST(? AS timestamp))";
+
+    private static final String SINGLE_ROW_UPDATE = "UPDATE users SET " +
+            "last_seen_at = COALESCE(?, last_seen_at), last_login_at = COALESCE(?, last_login_at) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int chunkSize;
+
+    private Boolean postgres;
+
+    /**
+     * @param activities pending activity per user id, sorted by id so concurrent flushes from
+     *                   several nodes lock rows in the same order
+     */
+    public void write(List<Map.Entry<Long, UserActivity>> activities) {
+        if (isPostgres()) {
+            for (int from = 0; from < activities.size(); from += chunkSize) {
+                writeChunk(activities.subList(from, Math.min(activities.size(), from + chunkSize)));
+            }
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(SINGLE_ROW_UPDATE, activities, chunkSize, (statement, entry) -> {
+            statement.setTimestamp(1, timestamp(entry.getValue().lastSeenAt()));
+            statement.setTimestamp(2, timestamp(entry.getValue().lastLoginAt()));
+            statement.setLong(3, entry.getKey());
+        });
+    }
+
+    private void writeChunk(List<Map.Entry<Long, UserActivity>> chunk) {
+        List<Object> parameters = new ArrayList<>(chunk.size() * 3);
+
+        for (Map.Entry<Long, UserActivity> entry : chunk) {
+            parameters.add(entry.getKey());
+            parameters.add(timestamp(entry.getValue().lastSeenAt()));
+            parameters.add(timestamp(entry.getValue().lastLoginAt()));
+        }
+
+        String values = String.join(", ", Collections.nCopies(chunk.size(), VALUES_ROW));
+        jdbcTemplate.update(POSTGRES_UPDATE.formatted(values), parameters.toArray());
+    }
+
+    private synchronized boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+        }
+
+        return postgres;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+}
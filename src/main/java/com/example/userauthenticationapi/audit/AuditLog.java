@@ -0,0 +1,280 @@
+package com.example.userauthenticationapi.audit;
+
+import com.example.userauthenticationapi.model.AuditEvent;
+import com.example.userauthenticationapi.model.enums.AuditEventType;
+import com.example.userauthenticationapi.util.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous authentication audit trail.
+ *
+ * <p>Request threads only build the event and offer it to a bounded {@link MpscRingBuffer}; a single
+ * writer thread drains it and inserts up to {@code batchSize} rows per JDBC batch. Under load the
+ * batches fill up, so the audit write rate stays a small fraction of the request rate. When the
+ * buffer is full the {@link OverflowPolicy} decides between losing the event and slowing the caller;
+ * every lost event is counted in {@code audit.events{result=dropped}}.
+ *
+ * <p>Events written on a request thread (overflow under {@code CALLER_RUNS}, or anything recorded
+ * after {@link #stop()}) use the writer's own small pool, never the request's connection pool. They
+ * commit on their own, so a failure event recorded just before the request's transaction rolls back
+ * is still kept, and a caller holding a request-pool connection never waits on a second one.
+ */
+@Slf4j
+public class AuditLog implements SmartLifecycle {
+
+    /** Length of the {@code principal} and {@code detail} columns. */
+    static final int MAX_TEXT_LENGTH = 255;
+
+    public enum OverflowPolicy {
+        /** Drop the new event immediately. */
+        DROP,
+        /** Wait up to the offer timeout for the writer to free a slot, then drop. */
+        WAIT,
+        /** Write the event synchronously on the calling thread, on the audit pool. */
+        CALLER_RUNS
+    }
+
+    private final AuditWriter writer;
+
+    private final MpscRingBuffer<AuditEvent> buffer;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final long offerTimeoutNanos;
+
+    private final Counter accepted;
+
+    private final Counter dropped;
+
+    private final Counter written;
+
+    private final Counter failed;
+
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+
+    private volatile boolean stopped;
+
+    private volatile Thread writerThread;
+
+    public AuditLog(AuditWriter writer, MeterRegistry meterRegistry, int capacity, int batchSize,
+                    Duration flushInterval, OverflowPolicy overflowPolicy, Duration offerTimeout) {
+        this.writer = writer;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+
+        this.accepted = counter(meterRegistry, "accepted");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.written = counter(meterRegistry, "written");
+        this.failed = counter(meterRegistry, "failed");
+        this.flushTimer = Timer.builder("audit.flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        Gauge.builder("audit.buffer.depth", buffer, MpscRingBuffer::size)
+                .register(meterRegistry);
+    }
+
+    public void record(AuditEventType type, Long userId, String principal, String detail) {
+        enqueue(event(type, userId, principal, detail));
+    }
+
+    /**
+     * Records the event once the surrounding transaction commits, so a rolled-back success is not
+     * reported as one. Outside a transaction the event is recorded immediately.
+     */
+    public void recordOnCommit(AuditEventType type, Long userId, String principal, String detail) {
+        AuditEvent event = event(type, userId, principal, detail);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    private void enqueue(AuditEvent event) {
+        // Nobody drains the buffer any more once stop() has run.
+        if (stopped) {
+            accepted.increment();
+            flushOnCaller(event);
+            return;
+        }
+
+        if (buffer.offer(event)) {
+            accepted.increment();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP -> dropped.increment();
+            case WAIT -> {
+                long deadline = System.nanoTime() + offerTimeoutNanos;
+
+                while (System.nanoTime() < deadline) {
+                    LockSupport.unpark(writerThread);
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+
+                    if (buffer.offer(event)) {
+                        accepted.increment();
+                        return;
+                    }
+                }
+                dropped.increment();
+            }
+            case CALLER_RUNS -> {
+                accepted.increment();
+                flushOnCaller(event);
+            }
+        }
+    }
+
+    private void flushOnCaller(AuditEvent event) {
+        flush(List.of(event));
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            buffer.drain(batch::add, batchSize);
+
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+
+            flush(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        long started = System.nanoTime();
+
+        try {
+            writer.write(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("Failed to write {} audit events", batch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void start() {
+        stopped = false;
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("audit-writer")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    /**
+     * Lets the writer drain what is still buffered; lifecycle beans stop before the data source is
+     * closed.
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        Thread thread = writerThread;
+
+        if (thread == null) {
+            return;
+        }
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join(Duration.ofSeconds(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!buffer.isEmpty()) {
+            log.warn("Audit writer stopped with {} events still buffered", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the web server's own phases, so the writer keeps draining until graceful shutdown has let
+     * in-flight requests finish.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    // principal is whatever the client sent; one oversized value must not fail the whole JDBC batch.
+    private static AuditEvent event(AuditEventType type, Long userId, String principal, String detail) {
+        return new AuditEvent(null, now(), type, userId, clip(principal), clientIp(), clip(detail));
+    }
+
+    private static String clip(String value) {
+        return value == null || value.length() <= MAX_TEXT_LENGTH ? value : value.substring(0, MAX_TEXT_LENGTH);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("audit.events")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Postgres keeps microseconds; truncating keeps the history cursor exact across a round trip.
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static String clientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest().getRemoteAddr()
+                : null;
+    }
+}
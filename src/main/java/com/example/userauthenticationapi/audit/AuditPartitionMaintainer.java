@@ -0,0 +1,67 @@
+package com.example.userauthenticationapi.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Creates the monthly {@code audit_events} partitions ahead of time so inserts never land in the
+ * default partition. Old months can be detached and archived as whole tables without touching the
+ * live partition. Does nothing on databases other than Postgres.
+ *
+ * <p>The first run happens while the bean initializes, before the audit writer exists or the web
+ * server accepts requests. Once the default partition holds a row for a month, Postgres refuses to
+ * create that month's partition, so it has to exist before the first event is written.
+ */
+@Slf4j
+public class AuditPartitionMaintainer {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int monthsAhead;
+
+    private Boolean postgres;
+
+    public AuditPartitionMaintainer(JdbcTemplate jdbcTemplate, int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(cron = "${spring.audit.partition-cron:0 0 3 * * *}")
+    public synchronized void createPartitions() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+        }
+
+        if (!postgres) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS audit_events_" + month.format(SUFFIX) +
+                    " PARTITION OF audit_events FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        } catch (DataAccessException e) {
+            log.warn("Could not create audit partition for {}", month, e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.userauthenticationapi.audit;
+
+import com.example.userauthenticationapi.model.AuditEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserts audit events with one JDBC batch per call, bypassing the persistence context so a flush
+ * costs a single round trip and no entity state.
+ *
+ * <p>Owns a small dedicated pool. Its connections are never bound to the caller's JPA transaction,
+ * so every batch autocommits on its own, and writes made on a request thread do not compete with
+ * the request pool that the caller may already have drained.
+ */
+public class AuditWriter implements AutoCloseable {
+
+    private static final String INSERT = "INSERT INTO audit_events " +
+            "(occurred_at, event_type, user_id, principal, client_ip, detail) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final HikariDataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditWriter(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void write(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (statement, event) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(event.getOccurredAt()));
+            statement.setString(2, event.getEventType().name());
+            statement.setObject(3, event.getUserId(), Types.BIGINT);
+            statement.setString(4, event.getPrincipal());
+            statement.setString(5, event.getClientIp());
+            statement.setString(6, event.getDetail());
+        });
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.activity.UserActivityTracker;
+import com.example.userauthenticationapi.activity.UserActivityWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class ActivityConfig {
+
+    @Bean
+    public UserActivityTracker userActivityTracker(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.user.activity.chunk-size:500}") int chunkSize) {
+        return new UserActivityTracker(new UserActivityWriter(jdbcTemplate, chunkSize), meterRegistry);
+    }
+}
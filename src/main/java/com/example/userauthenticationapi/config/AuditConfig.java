@@ -0,0 +1,58 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.audit.AuditLog;
+import com.example.userauthenticationapi.audit.AuditPartitionMaintainer;
+import com.example.userauthenticationapi.audit.AuditWriter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class AuditConfig {
+
+    /**
+     * Not a {@code DataSource} bean on purpose: one would make Boot's own pool back off. The writer
+     * is closed after {@link AuditLog} has stopped and drained into it.
+     */
+    @Bean
+    public AuditWriter auditWriter(
+            DataSourceProperties dataSourceProperties,
+            @Value("${spring.audit.pool-size:2}") int poolSize) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("audit");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(1);
+
+        return new AuditWriter(dataSource);
+    }
+
+    @Bean
+    @DependsOn("auditPartitionMaintainer")
+    public AuditLog auditLog(
+            AuditWriter auditWriter,
+            MeterRegistry meterRegistry,
+            @Value("${spring.audit.buffer-capacity:8192}") int capacity,
+            @Value("${spring.audit.batch-size:500}") int batchSize,
+            @Value("${spring.audit.flush-interval:200ms}") Duration flushInterval,
+            @Value("${spring.audit.overflow-policy:DROP}") AuditLog.OverflowPolicy overflowPolicy,
+            @Value("${spring.audit.offer-timeout:5ms}") Duration offerTimeout) {
+        return new AuditLog(auditWriter, meterRegistry, capacity, batchSize, flushInterval, overflowPolicy,
+                offerTimeout);
+    }
+
+    @Bean(initMethod = "createPartitions")
+    public AuditPartitionMaintainer auditPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.audit.partitions-ahead:2}") int monthsAhead) {
+        return new AuditPartitionMaintainer(jdbcTemplate, monthsAhead);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.limit.AdaptiveConcurrencyLimiter;
+import com.example.userauthenticationapi.limit.ConcurrencyLimitFilter;
+import com.example.userauthenticationapi.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The filter is added to the security chain by {@link SecurityConfig}; its servlet registration
+ * is disabled so it does not run twice.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.limiter.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${spring.limiter.initial-limit:20}") int initialLimit,
+            @Value("${spring.limiter.min-limit:8}") int minLimit,
+            @Value("${spring.limiter.max-limit:400}") int maxLimit,
+            @Value("${spring.limiter.smoothing:0.2}") double smoothing,
+            @Value("${spring.limiter.rtt-tolerance:1.5}") double rttTolerance) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, rttTolerance);
+    }
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            ObjectMapper objectMapper,
+            JwtService jwtService,
+            MeterRegistry meterRegistry,
+            @Value("${spring.limiter.retry-after-seconds:1}") long retryAfterSeconds) {
+        return new ConcurrencyLimitFilter(limiter, objectMapper, jwtService, meterRegistry, retryAfterSeconds);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitFilter concurrencyLimitFilter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(concurrencyLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
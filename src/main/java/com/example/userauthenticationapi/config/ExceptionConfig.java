@@ -0,0 +1,13 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.exception.ApiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExceptionConfig {
+
+    public ExceptionConfig(@Value("${spring.exception.stack-traces:false}") boolean stackTracesEnabled) {
+        ApiException.setStackTracesEnabled(stackTracesEnabled);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.web.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+        return builder -> builder.filters(FieldSelection.allFields());
+    }
+}
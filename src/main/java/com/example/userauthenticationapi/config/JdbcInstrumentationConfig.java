@@ -0,0 +1,48 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.datasource.InstrumentedDataSourcePostProcessor;
+import com.example.userauthenticationapi.datasource.JdbcEndpointInterceptor;
+import com.example.userauthenticationapi.datasource.JdbcMetricsFilter;
+import com.example.userauthenticationapi.datasource.JdbcMetricsRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.instrumentation.enabled", havingValue = "true")
+public class JdbcInstrumentationConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static InstrumentedDataSourcePostProcessor instrumentedDataSourcePostProcessor() {
+        return new InstrumentedDataSourcePostProcessor();
+    }
+
+    @Bean
+    public JdbcMetricsRecorder jdbcMetricsRecorder(
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.instrumentation.max-statements-per-request:10}") int maxStatementsPerRequest,
+            @Value("${spring.datasource.instrumentation.idle-hold-threshold:100ms}") Duration idleHoldThreshold) {
+        return new JdbcMetricsRecorder(meterRegistry, maxStatementsPerRequest, idleHoldThreshold);
+    }
+
+    @Bean
+    public FilterRegistrationBean<JdbcMetricsFilter> jdbcMetricsFilter(JdbcMetricsRecorder jdbcMetricsRecorder) {
+        FilterRegistrationBean<JdbcMetricsFilter> registration =
+                new FilterRegistrationBean<>(new JdbcMetricsFilter(jdbcMetricsRecorder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new JdbcEndpointInterceptor());
+    }
+}
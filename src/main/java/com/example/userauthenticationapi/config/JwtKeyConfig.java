@@ -0,0 +1,54 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.tokenverifier.SigningKeyRing;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.Key;
+import java.util.List;
+
+/**
+ * Builds the {@link SigningKeyRing}. Rotation is done by moving the active key to the
+ * {@code previous} slot (public key only) and configuring a new active key; the previous key keeps
+ * verifying until the longest-lived token it signed has expired.
+ */
+@Slf4j
+@Configuration
+public class JwtKeyConfig {
+
+    @Bean
+    public SigningKeyRing signingKeyRing(
+            @Value("${spring.jwt.secret-key:}") String secretKey,
+            @Value("${spring.jwt.signing.algorithm:ES256}") String algorithm,
+            @Value("${spring.jwt.signing.active.kid:}") String activeKid,
+            @Value("${spring.jwt.signing.active.private-key:}") String activePrivateKey,
+            @Value("${spring.jwt.signing.active.public-key:}") String activePublicKey,
+            @Value("${spring.jwt.signing.previous.kid:}") String previousKid,
+            @Value("${spring.jwt.signing.previous.algorithm:${spring.jwt.signing.algorithm:ES256}}") String previousAlgorithm,
+            @Value("${spring.jwt.signing.previous.public-key:}") String previousPublicKey) {
+        Key legacyKey = secretKey.isBlank() ? null : Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secretKey));
+
+        if (algorithm.startsWith("HS")) {
+            return SigningKeyRing.hmac(secretKey);
+        }
+
+        SigningKeyRing.SigningKey active;
+        if (activePrivateKey.isBlank()) {
+            log.warn("No {} signing key configured, generating an ephemeral one. " +
+                    "Tokens will not survive a restart or verify on other instances.", algorithm);
+            active = SigningKeyRing.generate(activeKid.isBlank() ? "ephemeral" : activeKid, algorithm);
+        } else {
+            active = SigningKeyRing.load(activeKid, algorithm, activePrivateKey, activePublicKey);
+        }
+
+        List<SigningKeyRing.SigningKey> retired = previousPublicKey.isBlank()
+                ? List.of()
+                : List.of(SigningKeyRing.load(previousKid, previousAlgorithm, null, previousPublicKey));
+
+        return new SigningKeyRing(active, retired, legacyKey);
+    }
+}
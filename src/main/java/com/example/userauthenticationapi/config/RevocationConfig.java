@@ -0,0 +1,29 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.repo.RevokedTokenRepo;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RevocationConfig {
+
+    @Bean
+    public TokenRevocationList tokenRevocationList(
+            RevokedTokenRepo revokedTokenRepo,
+            MeterRegistry meterRegistry,
+            @Value("${spring.jwt.revocation.poll-overlap:5s}") Duration pollOverlap,
+            @Value("${spring.jwt.revocation.cleanup-batch-size:1000}") int cleanupBatchSize) {
+        TokenRevocationList revocationList = new TokenRevocationList(revokedTokenRepo, pollOverlap, cleanupBatchSize);
+
+        Gauge.builder("auth.revocation.entries", revocationList, TokenRevocationList::size)
+                .register(meterRegistry);
+
+        return revocationList;
+    }
+}
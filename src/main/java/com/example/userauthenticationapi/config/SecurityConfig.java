@@ -1,8 +1,13 @@
 package com.example.userauthenticationapi.config;
 
+import com.example.userauthenticationapi.limit.ConcurrencyLimitFilter;
+import com.example.userauthenticationapi.model.enums.Permission;
+import com.example.userauthenticationapi.security.crypto.MeteredPasswordEncoder;
 import com.example.userauthenticationapi.security.filter.JwtFilter;
 import com.example.userauthenticationapi.service.MyUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,9 +21,13 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import static com.example.userauthenticationapi.security.authorization.PermissionAuthorizationManager.hasPermission;
+
 //TODO IMPL OAUTH2
 @Configuration
 @EnableWebSecurity
@@ -28,19 +37,34 @@ public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
 
+    private final ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) {
         try {
+            concurrencyLimitFilter.ifAvailable(filter ->
+                    httpSecurity.addFilterBefore(filter, DisableEncodeUrlFilter.class));
+
             return httpSecurity
                     .csrf(AbstractHttpConfigurer::disable)
                     .authorizeHttpRequests(request -> request
+                            .requestMatchers("/api/v1/authentication/introspect")
+                                    .access(hasPermission(Permission.TOKEN_INTROSPECT))
+                            .requestMatchers("/api/v1/user/search")
+                                    .access(hasPermission(Permission.USER_SEARCH))
+                            .requestMatchers("/api/v1/audit/**")
+                                    .access(hasPermission(Permission.AUDIT_READ))
                             .requestMatchers(
                                     "/api/v1/user/**",
                                     "/api/v1/authentication/login",
                                     "/api/v1/authentication/signup",
                                     "/api/v1/authentication/verification-code/resend",
                                     "/api/v1/authentication/verification-code/verify",
+                                    "/api/v1/authentication/token/refresh",
                                     "/api/v1/oauth2/authentication",
+                                    "/.well-known/jwks.json",
+                                    "/actuator/health",
+                                    "/actuator/prometheus",
                                     "/api/v1/user/reset-password").permitAll()
                             .anyRequest().authenticated()
                     )
@@ -55,14 +79,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new MeteredPasswordEncoder(new BCryptPasswordEncoder(12), meterRegistry);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         provider.setUserDetailsService(userDetailsService);
         return provider;
     }
@@ -0,0 +1,28 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.diagnostics.tracing.RepositoryObservationPostProcessor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Controllers and services are traced through {@code @Observed}; this adds repository spans and
+ * carries the current trace into {@code @Async} and other executor hops. Spans go to every
+ * {@code SpanExporter} bean, OTLP when {@code management.otlp.tracing.endpoint} is set.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public static RepositoryObservationPostProcessor repositoryObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new RepositoryObservationPostProcessor(observationRegistry);
+    }
+
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.userauthenticationapi.config;
+
+import com.example.userauthenticationapi.datasource.ConcurrencyLimitingDataSource;
+import com.example.userauthenticationapi.datasource.ConcurrencyLimitingDataSourcePostProcessor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}. Boot already moves Tomcat,
+ * {@code @Async} and {@code @Scheduled} onto virtual threads; this keeps them from overrunning the JDBC pools.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static ConcurrencyLimitingDataSourcePostProcessor concurrencyLimitingDataSourcePostProcessor() {
+        return new ConcurrencyLimitingDataSourcePostProcessor();
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimiterMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((name, dataSource) -> {
+            ConcurrencyLimitingDataSource limiter = findLimiter(dataSource);
+
+            if (limiter == null) {
+                return;
+            }
+
+            Gauge.builder("jdbc.limiter.permits.available", limiter, ConcurrencyLimitingDataSource::getAvailablePermits)
+                    .tag("pool", name)
+                    .register(registry);
+            Gauge.builder("jdbc.limiter.queued", limiter, ConcurrencyLimitingDataSource::getQueueLength)
+                    .tag("pool", name)
+                    .register(registry);
+        });
+    }
+
+    private static ConcurrencyLimitingDataSource findLimiter(DataSource dataSource) {
+        DataSource current = dataSource;
+
+        while (current instanceof DelegatingDataSource delegating) {
+            if (current instanceof ConcurrencyLimitingDataSource limiter) {
+                return limiter;
+            }
+
+            current = delegating.getTargetDataSource();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.userauthenticationapi.controller;
+
+import com.example.userauthenticationapi.dto.response.ApiSuccessResponse;
+import com.example.userauthenticationapi.dto.response.AuditHistoryResponse;
+import com.example.userauthenticationapi.service.AuditHistoryService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@Observed(name = "app.controller")
+@RestController
+@RequestMapping("api/v1/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditHistoryService auditHistoryService;
+
+    @GetMapping("/users/{userId}/events")
+    public ResponseEntity<ApiSuccessResponse<AuditHistoryResponse>> getUserHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        AuditHistoryResponse history = auditHistoryService.getHistory(userId, limit, cursor);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(
+                        new ApiSuccessResponse<>(
+                                true,
+                                "Success!",
+                                history,
+                                LocalDateTime.now()
+                        )
+                );
+    }
+}
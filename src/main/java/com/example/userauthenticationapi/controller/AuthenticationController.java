@@ -1,19 +1,29 @@
 package com.example.userauthenticationapi.controller;
 
 import com.example.userauthenticationapi.dto.request.LoginUserDto;
+import com.example.userauthenticationapi.dto.request.RefreshTokenDto;
 import com.example.userauthenticationapi.dto.request.RegisterUserDto;
 import com.example.userauthenticationapi.dto.request.ResendVerificationCodeDto;
+import com.example.userauthenticationapi.dto.request.TokenIntrospectionDto;
 import com.example.userauthenticationapi.dto.request.VerifyUserDto;
 import com.example.userauthenticationapi.dto.response.ApiSuccessResponse;
+import com.example.userauthenticationapi.dto.response.TokenIntrospection;
+import com.example.userauthenticationapi.dto.response.TokenResponse;
 import com.example.userauthenticationapi.service.AuthenticationService;
+import com.example.userauthenticationapi.service.RefreshTokenService;
+import com.example.userauthenticationapi.service.TokenIntrospectionService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+@Observed(name = "app.controller")
 @RestController
 @RequestMapping("/api/v1/authentication")
 @RequiredArgsConstructor
@@ -21,14 +31,18 @@ public class AuthenticationController {
 
     private final AuthenticationService authService;
 
+    private final RefreshTokenService refreshTokenService;
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
     @PostMapping("/signup")
-    public ResponseEntity<ApiSuccessResponse> singUp(@RequestBody RegisterUserDto registerUserDto) {
+    public ResponseEntity<ApiSuccessResponse<String>> singUp(@RequestBody RegisterUserDto registerUserDto) {
         authService.signUp(registerUserDto);
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully signed up. " +
                                         "Please verify your email with OTP that has been sent to your email.",
@@ -39,13 +53,13 @@ public class AuthenticationController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiSuccessResponse> login(@RequestBody LoginUserDto loginUserDto) {
+    public ResponseEntity<ApiSuccessResponse<String>> login(@RequestBody LoginUserDto loginUserDto) {
         authService.authenticate(loginUserDto);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully logged in. " +
                                         "Please verify your email with OTP that has been sent to your email.",
@@ -56,28 +70,43 @@ public class AuthenticationController {
     }
 
     @PostMapping("/verification-code/verify")
-    public ResponseEntity<ApiSuccessResponse> verifyUser(@RequestBody VerifyUserDto verifyUserDto) {
-        String jwtToken = authService.verifyUser(verifyUserDto);
+    public ResponseEntity<ApiSuccessResponse<TokenResponse>> verifyUser(@RequestBody VerifyUserDto verifyUserDto) {
+        TokenResponse tokens = authService.verifyUser(verifyUserDto);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User verified successfully.",
-                                jwtToken,
+                                tokens,
+                                LocalDateTime.now()
+                        )
+                );
+    }
+
+    @PostMapping("/token/refresh")
+    public ResponseEntity<ApiSuccessResponse<TokenResponse>> refreshToken(@RequestBody RefreshTokenDto refreshTokenDto) {
+        TokenResponse tokens = refreshTokenService.rotate(refreshTokenDto.getRefreshToken());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(
+                        new ApiSuccessResponse<>(
+                                true,
+                                "Token refreshed successfully.",
+                                tokens,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @PostMapping("/verification-code/resend")
-    public ResponseEntity<ApiSuccessResponse> resendVerificationCode(@RequestBody ResendVerificationCodeDto email) {
+    public ResponseEntity<ApiSuccessResponse<String>> resendVerificationCode(@RequestBody ResendVerificationCodeDto email) {
         authService.resendVerificationCode(email);
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "Verification code resend successfully",
                                 email.getEmail(),
@@ -86,12 +115,51 @@ public class AuthenticationController {
                 );
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<ApiSuccessResponse<String>> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshTokenDto refreshTokenDto,
+            Authentication authentication) {
+        authService.logout(
+                authorization.substring("Bearer ".length()),
+                refreshTokenDto == null ? null : refreshTokenDto.getRefreshToken()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(
+                        new ApiSuccessResponse<>(
+                                true,
+                                "User successfully logged out.",
+                                authentication.getName(),
+                                LocalDateTime.now()
+                        )
+                );
+    }
+
+    @PostMapping("/introspect")
+    public ResponseEntity<ApiSuccessResponse<List<TokenIntrospection>>> introspect(
+            @RequestBody TokenIntrospectionDto introspectionDto) {
+        List<TokenIntrospection> results = tokenIntrospectionService.introspect(introspectionDto);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(
+                        new ApiSuccessResponse<>(
+                                true,
+                                "Tokens introspected successfully.",
+                                results,
+                                LocalDateTime.now()
+                        )
+                );
+    }
+
     @GetMapping("/check-session")
-    public ResponseEntity<ApiSuccessResponse> checkSessionToken(Authentication authentication) {
+    public ResponseEntity<ApiSuccessResponse<String>> checkSessionToken(Authentication authentication) {
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "JWT token is valid",
                                 authentication.getName(),
@@ -0,0 +1,48 @@
+package com.example.userauthenticationapi.controller;
+
+import com.example.tokenverifier.SigningKeyRing;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publishes the public half of the {@link SigningKeyRing} as a plain RFC 7517 key set, without the
+ * {@code ApiSuccessResponse} envelope, so standard JWT libraries can consume it directly.
+ */
+@Observed(name = "app.controller")
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyRing signingKeyRing;
+
+    @Value("${spring.jwt.jwks.max-age:15m}")
+    private Duration maxAge;
+
+    @Value("${spring.jwt.jwks.stale-while-revalidate:1h}")
+    private Duration staleWhileRevalidate;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> jwks(WebRequest request) {
+        if (request.checkNotModified(signingKeyRing.jwksETag())) {
+            return null;
+        }
+
+        return ResponseEntity
+                .ok()
+                .cacheControl(CacheControl.maxAge(maxAge)
+                        .cachePublic()
+                        .staleWhileRevalidate(staleWhileRevalidate))
+                .eTag(signingKeyRing.jwksETag())
+                .body(signingKeyRing.jwks());
+    }
+}
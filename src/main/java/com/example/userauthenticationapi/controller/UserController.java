@@ -2,20 +2,34 @@ package com.example.userauthenticationapi.controller;
 
 import com.example.userauthenticationapi.dto.request.RegisterUserDto;
 import com.example.userauthenticationapi.dto.request.UpdateUserDto;
+import com.example.userauthenticationapi.dto.request.UserBatchLookupDto;
 import com.example.userauthenticationapi.dto.request.UserPasswordUpdateDto;
 import com.example.userauthenticationapi.dto.response.ApiSuccessResponse;
+import com.example.userauthenticationapi.dto.response.AvailabilityResponse;
+import com.example.userauthenticationapi.dto.response.BatchUserResponse;
 import com.example.userauthenticationapi.dto.response.DeleteUserResponse;
 import com.example.userauthenticationapi.dto.response.UpdateUserResponse;
 import com.example.userauthenticationapi.dto.response.UserResponse;
+import com.example.userauthenticationapi.dto.response.UserSearchResponse;
+import com.example.userauthenticationapi.service.UserAvailabilityService;
+import com.example.userauthenticationapi.service.UserSearchService;
 import com.example.userauthenticationapi.service.UserService;
+import com.example.userauthenticationapi.web.JsonEnvelopeStreamer;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+@Observed(name = "app.controller")
 @RestController
 @RequestMapping("api/v1/user")
 @RequiredArgsConstructor
@@ -23,14 +37,20 @@ public class UserController {
 
     private final UserService userService;
 
+    private final UserAvailabilityService userAvailabilityService;
+
+    private final UserSearchService userSearchService;
+
+    private final JsonEnvelopeStreamer envelopeStreamer;
+
     @PostMapping
-    public ResponseEntity<ApiSuccessResponse> create(@RequestBody RegisterUserDto registerUserDto) {
+    public ResponseEntity<ApiSuccessResponse<String>> create(@RequestBody RegisterUserDto registerUserDto) {
         userService.create(registerUserDto);
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully created!",
                                 registerUserDto.getUsername(),
@@ -40,141 +60,217 @@ public class UserController {
     }
 
     @GetMapping("/by-id/{id}")
-    public ResponseEntity<ApiSuccessResponse> getById(@PathVariable Long id) {
+    public ResponseEntity<ApiSuccessResponse<UserResponse>> getById(@PathVariable Long id, WebRequest request) {
+        if (isNotModified(request, () -> userService.getETagById(id))) {
+            return null;
+        }
+
         UserResponse user = userService.getById(id);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(userService.getETag(user))
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "Success!",
-                                user.toString(),
+                                user,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @GetMapping("/by-username/{username}")
-    public ResponseEntity<ApiSuccessResponse> getByUsername(@PathVariable String username) {
+    public ResponseEntity<ApiSuccessResponse<UserResponse>> getByUsername(@PathVariable String username, WebRequest request) {
+        if (isNotModified(request, () -> userService.getETagByUsername(username))) {
+            return null;
+        }
+
         UserResponse user = userService.getByUsername(username);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(userService.getETag(user))
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "Success!",
-                                user.toString(),
+                                user,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @GetMapping("/by-email/{email}")
-    public ResponseEntity<ApiSuccessResponse> getByEmail(@PathVariable String email) {
+    public ResponseEntity<ApiSuccessResponse<UserResponse>> getByEmail(@PathVariable String email, WebRequest request) {
+        if (isNotModified(request, () -> userService.getETagByEmail(email))) {
+            return null;
+        }
+
         UserResponse user = userService.getByEmail(email);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(userService.getETag(user))
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "Success!",
-                                user.toString(),
+                                user,
                                 LocalDateTime.now()
                         )
                 );
     }
 
-    @GetMapping("/id/{email}")
-    public ResponseEntity<ApiSuccessResponse> getIdByEmail(@PathVariable String email) {
-        Long id = userService.getIdByEmail(email);
+    @PostMapping("/batch")
+    public ResponseEntity<ApiSuccessResponse<BatchUserResponse>> getBatch(@RequestBody UserBatchLookupDto lookupDto) {
+        BatchUserResponse users = userService.getBatch(lookupDto);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "Success!",
-                                id.toString(),
+                                users,
                                 LocalDateTime.now()
                         )
                 );
     }
 
-    @GetMapping
-    public ResponseEntity<ApiSuccessResponse> getAll() {
-        List<UserResponse> userList = userService.getAll();
+    @GetMapping("/availability")
+    public ResponseEntity<ApiSuccessResponse<AvailabilityResponse>> getAvailability(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String username) {
+        AvailabilityResponse availability = userAvailabilityService.check(email, username);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "Success!",
-                                userList.toString(),
+                                availability,
                                 LocalDateTime.now()
                         )
                 );
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ApiSuccessResponse<UserSearchResponse>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String field,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        UserSearchResponse users = userSearchService.search(q, field, mode, limit, cursor);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(
+                        new ApiSuccessResponse<>(
+                                true,
+                                "Success!",
+                                users,
+                                LocalDateTime.now()
+                        )
+                );
+    }
+
+    @GetMapping("/id/{email}")
+    public ResponseEntity<ApiSuccessResponse<Long>> getIdByEmail(@PathVariable String email) {
+        Long id = userService.getIdByEmail(email);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(
+                        new ApiSuccessResponse<>(
+                                true,
+                                "Success!",
+                                id,
+                                LocalDateTime.now()
+                        )
+                );
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getAll(@RequestParam(required = false) String fields) {
+        userService.assertAnyExist();
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(envelopeStreamer.streamList("Success!", UserResponse.class, fields, userService::streamAll));
+    }
+
     @PutMapping("/by-id/{id}")
-    public ResponseEntity<ApiSuccessResponse> updateById(@PathVariable Long id, @RequestBody UpdateUserDto updateUserDto) {
-        UpdateUserResponse updatedUser = userService.updateById(id, updateUserDto);
+    public ResponseEntity<ApiSuccessResponse<UpdateUserResponse>> updateById(
+            @PathVariable Long id,
+            @RequestBody UpdateUserDto updateUserDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UpdateUserResponse updatedUser = userService.updateById(id, updateUserDto, ifMatch);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(userService.getETag(updatedUser))
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully updated!",
-                                updatedUser.toString(),
+                                updatedUser,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @PutMapping("/by-username/{username}")
-    public ResponseEntity<ApiSuccessResponse> updateByUsername(@PathVariable String username, @RequestBody UpdateUserDto updateUserDto) {
-        UpdateUserResponse updatedUser = userService.updateByUsername(username, updateUserDto);
+    public ResponseEntity<ApiSuccessResponse<UpdateUserResponse>> updateByUsername(
+            @PathVariable String username,
+            @RequestBody UpdateUserDto updateUserDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UpdateUserResponse updatedUser = userService.updateByUsername(username, updateUserDto, ifMatch);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(userService.getETag(updatedUser))
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully updated!",
-                                updatedUser.toString(),
+                                updatedUser,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @PutMapping("/by-email/{email}")
-    public ResponseEntity<ApiSuccessResponse> updateByEmail(@PathVariable String email, @RequestBody UpdateUserDto updateUserDto) {
-        UpdateUserResponse updatedUser = userService.updateByEmail(email, updateUserDto);
+    public ResponseEntity<ApiSuccessResponse<UpdateUserResponse>> updateByEmail(
+            @PathVariable String email,
+            @RequestBody UpdateUserDto updateUserDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UpdateUserResponse updatedUser = userService.updateByEmail(email, updateUserDto, ifMatch);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(userService.getETag(updatedUser))
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully updated!",
-                                updatedUser.toString(),
+                                updatedUser,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @PutMapping("/reset-password")
-    public ResponseEntity<ApiSuccessResponse> updatePasswordByEmail(@RequestBody UserPasswordUpdateDto passwordUpdateDto) {
+    public ResponseEntity<ApiSuccessResponse<String>> updatePasswordByEmail(@RequestBody UserPasswordUpdateDto passwordUpdateDto) {
         UpdateUserResponse updatedUser = userService.updatePasswordByEmail(passwordUpdateDto);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "Password for: " + passwordUpdateDto.getEmail() + " successfully updated!",
                                 updatedUser.getEmail(),
@@ -184,61 +280,61 @@ public class UserController {
     }
 
     @DeleteMapping("/by-id/{id}")
-    public ResponseEntity<ApiSuccessResponse> deleteById(@PathVariable Long id) {
+    public ResponseEntity<ApiSuccessResponse<DeleteUserResponse>> deleteById(@PathVariable Long id) {
         DeleteUserResponse deletedUser = userService.deleteById(id);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully deleted!",
-                                deletedUser.toString(),
+                                deletedUser,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @DeleteMapping("/by-username/{username}")
-    public ResponseEntity<ApiSuccessResponse> deleteByUsername(@PathVariable String username) {
+    public ResponseEntity<ApiSuccessResponse<DeleteUserResponse>> deleteByUsername(@PathVariable String username) {
         DeleteUserResponse deletedUser = userService.deleteByUsername(username);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully deleted!",
-                                deletedUser.toString(),
+                                deletedUser,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @DeleteMapping("/by-email/{email}")
-    public ResponseEntity<ApiSuccessResponse> deleteByEmail(@PathVariable String email) {
+    public ResponseEntity<ApiSuccessResponse<DeleteUserResponse>> deleteByEmail(@PathVariable String email) {
         DeleteUserResponse deletedUser = userService.deleteByEmail(email);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "User successfully deleted!",
-                                deletedUser.toString(),
+                                deletedUser,
                                 LocalDateTime.now()
                         )
                 );
     }
 
     @DeleteMapping
-    public ResponseEntity<ApiSuccessResponse> deleteAll() {
+    public ResponseEntity<ApiSuccessResponse<String>> deleteAll() {
         userService.deleteAll();
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(
-                        new ApiSuccessResponse(
+                        new ApiSuccessResponse<>(
                                 true,
                                 "All users successfully deleted!",
                                 "",
@@ -246,4 +342,17 @@ public class UserController {
                         )
                 );
     }
+
+    /**
+     * Answers a conditional GET from the version-only query, so an unchanged user is never loaded or serialized.
+     */
+    private boolean isNotModified(WebRequest request, Supplier<Optional<String>> currentETag) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return false;
+        }
+
+        return currentETag.get()
+                .map(request::checkNotModified)
+                .orElse(false);
+    }
 }
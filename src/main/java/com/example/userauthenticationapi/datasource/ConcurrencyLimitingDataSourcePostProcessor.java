@@ -0,0 +1,32 @@
+package com.example.userauthenticationapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Wraps every Hikari pool in a {@link ConcurrencyLimitingDataSource} sized to the pool.
+ * Runs first so that other decorators see the limited pool.
+ */
+public class ConcurrencyLimitingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikariDataSource) {
+            return new ConcurrencyLimitingDataSource(
+                    hikariDataSource,
+                    hikariDataSource.getMaximumPoolSize(),
+                    Duration.ofMillis(hikariDataSource.getConnectionTimeout())
+            );
+        }
+
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
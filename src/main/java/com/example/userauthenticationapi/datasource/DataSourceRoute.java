@@ -0,0 +1,5 @@
+package com.example.userauthenticationapi.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY, REPLICA
+}
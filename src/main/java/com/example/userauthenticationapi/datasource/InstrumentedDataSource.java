@@ -0,0 +1,108 @@
+package com.example.userauthenticationapi.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records statement count, execution time and connection hold time into the current
+ * {@link RequestJdbcStats}. Connections obtained outside a request are returned unwrapped.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    public InstrumentedDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection instrument(Connection connection) {
+        RequestJdbcStats stats = RequestJdbcStats.current();
+
+        if (stats == null) {
+            return connection;
+        }
+
+        ConnectionHold hold = new ConnectionHold(stats);
+
+        return JdbcProxies.proxy(Connection.class, connection, (proxy, method, args) -> {
+            String name = method.getName();
+
+            if ("close".equals(name)) {
+                try {
+                    return JdbcProxies.invoke(connection, method, args);
+                } finally {
+                    hold.release();
+                }
+            }
+
+            Object result = JdbcProxies.invoke(connection, method, args);
+
+            if (result instanceof Statement statement
+                    && (name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                return instrument(method.getReturnType(), statement, hold);
+            }
+
+            return result;
+        });
+    }
+
+    private static Object instrument(Class<?> type, Statement statement, ConnectionHold hold) {
+        @SuppressWarnings("unchecked")
+        Class<Statement> statementType = (Class<Statement>) type;
+
+        return JdbcProxies.proxy(statementType, statement, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return JdbcProxies.invoke(statement, method, args);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return JdbcProxies.invoke(statement, method, args);
+            } finally {
+                hold.statementExecuted(start, System.nanoTime());
+            }
+        });
+    }
+
+    private static final class ConnectionHold {
+
+        private final RequestJdbcStats stats;
+
+        private final long acquiredAt = System.nanoTime();
+
+        private long lastActivity = acquiredAt;
+
+        private boolean released;
+
+        private ConnectionHold(RequestJdbcStats stats) {
+            this.stats = stats;
+        }
+
+        private void statementExecuted(long start, long end) {
+            stats.recordStatement(end - start, start - lastActivity);
+            lastActivity = end;
+        }
+
+        private void release() {
+            if (released) {
+                return;
+            }
+
+            released = true;
+            long now = System.nanoTime();
+            stats.recordConnectionRelease(now - acquiredAt, now - lastActivity);
+        }
+    }
+}
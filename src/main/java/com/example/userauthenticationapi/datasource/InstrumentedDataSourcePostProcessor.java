@@ -0,0 +1,28 @@
+package com.example.userauthenticationapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every connection pool in an {@link InstrumentedDataSource}. Runs after
+ * {@link ConcurrencyLimitingDataSourcePostProcessor} so hold times exclude time spent queueing for a permit.
+ */
+public class InstrumentedDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource || bean instanceof ConcurrencyLimitingDataSource) {
+            return new InstrumentedDataSource((DataSource) bean);
+        }
+
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
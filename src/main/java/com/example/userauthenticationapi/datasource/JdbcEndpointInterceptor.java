@@ -0,0 +1,23 @@
+package com.example.userauthenticationapi.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tags the current {@link RequestJdbcStats} with the handling controller method, e.g. {@code UserController.getById}.
+ */
+public class JdbcEndpointInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestJdbcStats stats = RequestJdbcStats.current();
+
+        if (stats != null && handler instanceof HandlerMethod handlerMethod) {
+            stats.setEndpoint(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+
+        return true;
+    }
+}
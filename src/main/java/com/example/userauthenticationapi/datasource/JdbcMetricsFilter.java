@@ -0,0 +1,33 @@
+package com.example.userauthenticationapi.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link RequestJdbcStats} scope around the whole request, including the security
+ * filter chain, and hands it to the recorder once the response is complete.
+ */
+@RequiredArgsConstructor
+public class JdbcMetricsFilter extends OncePerRequestFilter {
+
+    private final JdbcMetricsRecorder recorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestJdbcStats stats = RequestJdbcStats.begin();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestJdbcStats.end();
+            recorder.record(stats);
+        }
+    }
+}
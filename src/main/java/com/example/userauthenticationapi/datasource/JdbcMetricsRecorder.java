@@ -0,0 +1,69 @@
+package com.example.userauthenticationapi.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a finished request's {@link RequestJdbcStats} as meters tagged by controller endpoint,
+ * and flags requests that issue too many statements or sit on a connection while doing other I/O.
+ */
+@Slf4j
+public class JdbcMetricsRecorder {
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxStatementsPerRequest;
+
+    private final long idleHoldThresholdNanos;
+
+    public JdbcMetricsRecorder(MeterRegistry meterRegistry, int maxStatementsPerRequest, Duration idleHoldThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+        this.idleHoldThresholdNanos = idleHoldThreshold.toNanos();
+    }
+
+    public void record(RequestJdbcStats stats) {
+        if (stats.getStatements() == 0 && stats.getConnectionHoldNanos() == 0) {
+            return;
+        }
+
+        String endpoint = stats.getEndpoint();
+
+        DistributionSummary.builder("jdbc.request.statements")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("jdbc.request.time")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("jdbc.request.connection.hold")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getConnectionHoldNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > maxStatementsPerRequest) {
+            flag(endpoint, "statement-count", stats);
+        }
+
+        if (stats.getMaxIdleInConnectionNanos() > idleHoldThresholdNanos) {
+            flag(endpoint, "idle-connection-hold", stats);
+        }
+    }
+
+    private void flag(String endpoint, String reason, RequestJdbcStats stats) {
+        Counter.builder("jdbc.request.flagged")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        log.warn("{} flagged for {}: {}", endpoint, reason, stats.toHeaderValue());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.userauthenticationapi.datasource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@code X-Jdbc-Stats} debug header just before the body is written, which is
+ * the last point at which headers can still be changed.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(
+        name = {"spring.datasource.instrumentation.enabled", "spring.datasource.instrumentation.debug-header"},
+        havingValue = "true"
+)
+public class JdbcStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Jdbc-Stats";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestJdbcStats stats = RequestJdbcStats.current();
+
+        if (stats != null) {
+            response.getHeaders().set(HEADER, stats.toHeaderValue());
+        }
+
+        return body;
+    }
+}
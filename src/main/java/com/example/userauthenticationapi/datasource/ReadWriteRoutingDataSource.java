@@ -0,0 +1,62 @@
+package com.example.userauthenticationapi.datasource;
+
+import com.example.userauthenticationapi.security.model.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that
+ * the transaction's read-only flag is already bound when the physical connection is fetched.
+ * <p>
+ * Reads that decide authentication (the user details and security epoch behind every access
+ * token) must not run read-only: they are made before a principal is known, so stickiness cannot
+ * protect them from a replica that has not yet seen a password reset.
+ */
+@RequiredArgsConstructor
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null) {
+                readYourWritesTracker.recordWriteOnCommit(userId);
+            }
+            return DataSourceRoute.PRIMARY;
+        }
+
+        if (!replicaLagMonitor.isReplicaUsable()) {
+            return DataSourceRoute.PRIMARY;
+        }
+
+        if (userId != null && readYourWritesTracker.isSticky(userId)) {
+            return DataSourceRoute.PRIMARY;
+        }
+
+        return DataSourceRoute.REPLICA;
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return null;
+        }
+
+        return principal.getId();
+    }
+}
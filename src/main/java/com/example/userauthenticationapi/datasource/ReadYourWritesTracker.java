@@ -0,0 +1,67 @@
+package com.example.userauthenticationapi.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers users whose data was written recently so their reads stay on the primary
+ * until the replica has had time to catch up.
+ * <p>
+ * Keyed by user id rather than by the authenticated principal: most writes to a user's row
+ * (sign-up, verification, password reset, profile updates) arrive on anonymous endpoints.
+ */
+public class ReadYourWritesTracker {
+
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /** Records the write once the current transaction commits, or right away outside one. */
+    public void recordWriteOnCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordWrite(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(userId);
+            }
+        });
+    }
+
+    public void recordWrite(Long userId) {
+        stickyUntil.put(userId, System.nanoTime() + windowNanos);
+    }
+
+    public boolean isSticky(Long userId) {
+        Long until = stickyUntil.get(userId);
+
+        if (until == null) {
+            return false;
+        }
+
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.routing.lag-check-interval-ms:1000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+}
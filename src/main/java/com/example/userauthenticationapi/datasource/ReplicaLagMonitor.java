@@ -0,0 +1,47 @@
+package com.example.userauthenticationapi.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Periodically measures replication lag on the replica pool and marks the replica unusable
+ * when it falls behind {@code maxLag} or cannot be reached, so reads fall back to the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private final DataSource replicaDataSource;
+
+    private final String lagQuery;
+
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag) {
+        this.replicaDataSource = replicaDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.routing.lag-check-interval-ms:1000}")
+    public void refresh() {
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+            replicaUsable = lagSeconds * 1000 <= maxLagMillis;
+        } catch (SQLException e) {
+            replicaUsable = false;
+        }
+    }
+}
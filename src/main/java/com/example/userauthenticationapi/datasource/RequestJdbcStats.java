@@ -0,0 +1,57 @@
+package com.example.userauthenticationapi.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Locale;
+
+/**
+ * JDBC activity of the request running on the current thread. Bound by
+ * {@link JdbcMetricsFilter} and fed by {@link InstrumentedDataSource}.
+ */
+@Getter
+public class RequestJdbcStats {
+
+    private static final ThreadLocal<RequestJdbcStats> CURRENT = new ThreadLocal<>();
+
+    @Setter
+    private String endpoint = "unmapped";
+
+    private int statements;
+
+    private long jdbcNanos;
+
+    private long connectionHoldNanos;
+
+    private long maxIdleInConnectionNanos;
+
+    public static RequestJdbcStats begin() {
+        RequestJdbcStats stats = new RequestJdbcStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static RequestJdbcStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(long executionNanos, long idleBeforeNanos) {
+        statements++;
+        jdbcNanos += executionNanos;
+        maxIdleInConnectionNanos = Math.max(maxIdleInConnectionNanos, idleBeforeNanos);
+    }
+
+    void recordConnectionRelease(long holdNanos, long idleBeforeCloseNanos) {
+        connectionHoldNanos += holdNanos;
+        maxIdleInConnectionNanos = Math.max(maxIdleInConnectionNanos, idleBeforeCloseNanos);
+    }
+
+    public String toHeaderValue() {
+        return String.format(Locale.ROOT, "statements=%d;jdbc=%.2fms;hold=%.2fms;max-idle=%.2fms",
+                statements, jdbcNanos / 1e6, connectionHoldNanos / 1e6, maxIdleInConnectionNanos / 1e6);
+    }
+}
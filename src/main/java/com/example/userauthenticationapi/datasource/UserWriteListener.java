@@ -0,0 +1,29 @@
+package com.example.userauthenticationapi.datasource;
+
+import com.example.userauthenticationapi.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Marks a user sticky to the primary when a transaction that changed their row commits, whoever
+ * made the change. The routing data source only sees the authenticated principal, which is absent
+ * on the anonymous endpoints that sign up, verify and reset passwords.
+ * <p>
+ * Instantiated by Hibernate through Spring's bean container; without routing there is no tracker
+ * and the listener does nothing.
+ */
+@RequiredArgsConstructor
+public class UserWriteListener {
+
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void written(User user) {
+        readYourWritesTracker.ifAvailable(tracker -> tracker.recordWriteOnCommit(user.getId()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.userauthenticationapi.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common shape of the auth phase events: a duration plus an outcome. Outcome strings are only
+ * assigned once {@link #shouldCommit()} passes, so a disabled event costs a begin/end pair.
+ */
+@Category({"UserAuthenticationAPI", "Authentication"})
+@StackTrace(false)
+public abstract class AuthPhaseEvent extends Event {
+
+    @Label("Outcome")
+    protected String outcome;
+
+    public void finish(String outcome) {
+        end();
+
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.userauthenticationapi.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.userauthenticationapi.DbWrite")
+@Label("Database Write")
+@Description("Persisting a user change and flushing it")
+public class DbWriteEvent extends AuthPhaseEvent {
+}
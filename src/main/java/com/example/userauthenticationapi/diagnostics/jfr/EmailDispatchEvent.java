@@ -0,0 +1,11 @@
+package com.example.userauthenticationapi.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.userauthenticationapi.EmailDispatch")
+@Label("Email Dispatch")
+@Description("Sending a verification email through SendGrid")
+public class EmailDispatchEvent extends AuthPhaseEvent {
+}
@@ -0,0 +1,70 @@
+package com.example.userauthenticationapi.diagnostics.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Offline summary of the auth phase events in a {@code .jfr} file: count, percentiles and total time
+ * per phase and outcome. Run with {@code ./gradlew jfrSummary -Pjfr=<file>}.
+ */
+public final class JfrPhaseSummary {
+
+    private static final String EVENT_PREFIX = "com.example.userauthenticationapi.";
+
+    private JfrPhaseSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrPhaseSummary <recording.jfr>");
+            System.exit(1);
+        }
+
+        Map<String, List<Long>> durations = new TreeMap<>();
+
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String name = event.getEventType().getName();
+
+                if (!name.startsWith(EVENT_PREFIX)) {
+                    continue;
+                }
+
+                String key = name.substring(EVENT_PREFIX.length()) + " [" + event.getString("outcome") + "]";
+                durations.computeIfAbsent(key, k -> new ArrayList<>()).add(event.getDuration().toNanos());
+            }
+        }
+
+        System.out.printf("%-40s %8s %10s %10s %10s %12s%n", "phase [outcome]", "count", "p50 ms", "p99 ms", "max ms", "total ms");
+        durations.forEach((key, values) -> {
+            long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+
+            System.out.printf("%-40s %8d %10.3f %10.3f %10.3f %12.1f%n",
+                    key,
+                    sorted.length,
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted[sorted.length - 1]),
+                    millis(Arrays.stream(sorted).sum()));
+        });
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.userauthenticationapi.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.userauthenticationapi.PasswordVerification")
+@Label("Password Verification")
+@Description("Checking a raw password against its stored hash")
+public class PasswordVerificationEvent extends AuthPhaseEvent {
+
+    @Label("Mechanism")
+    private String mechanism;
+
+    public PasswordVerificationEvent(String mechanism) {
+        this.mechanism = mechanism;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.userauthenticationapi.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.userauthenticationapi.TokenParse")
+@Label("Token Parse")
+@Description("Parsing and verifying a bearer token")
+public class TokenParseEvent extends AuthPhaseEvent {
+}
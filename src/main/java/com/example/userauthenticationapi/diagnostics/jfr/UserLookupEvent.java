@@ -0,0 +1,11 @@
+package com.example.userauthenticationapi.diagnostics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.userauthenticationapi.UserLookup")
+@Label("User Lookup")
+@Description("Loading a user by email or username")
+public class UserLookupEvent extends AuthPhaseEvent {
+}
@@ -0,0 +1,52 @@
+package com.example.userauthenticationapi.diagnostics.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Opens an {@code app.repository} observation around every Spring Data repository call, named
+ * {@code <RepositoryInterface>.<method>}. Spring Data proxies are advised in place; anything else
+ * gets wrapped in a new proxy.
+ */
+public class RepositoryObservationPostProcessor implements BeanPostProcessor {
+
+    private final SingletonSupplier<ObservationRegistry> observationRegistry;
+
+    public RepositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = SingletonSupplier.of(
+                () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)
+        );
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof Repository<?, ?>)) {
+            return bean;
+        }
+
+        String repositoryName = AopProxyUtils.proxiedUserInterfaces(bean)[0].getSimpleName();
+        MethodInterceptor interceptor = invocation -> Observation
+                .createNotStarted("app.repository", observationRegistry.obtain())
+                .contextualName(repositoryName + "." + invocation.getMethod().getName())
+                .lowCardinalityKeyValue("repository", repositoryName)
+                .lowCardinalityKeyValue("method", invocation.getMethod().getName())
+                .observeChecked(invocation::proceed);
+
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy();
+    }
+}
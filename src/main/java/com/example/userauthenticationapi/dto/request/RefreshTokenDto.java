@@ -0,0 +1,8 @@
+package com.example.userauthenticationapi.dto.request;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenDto {
+    private String refreshToken;
+}
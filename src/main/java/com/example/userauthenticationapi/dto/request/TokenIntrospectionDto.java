@@ -0,0 +1,10 @@
+package com.example.userauthenticationapi.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TokenIntrospectionDto {
+    private List<String> tokens;
+}
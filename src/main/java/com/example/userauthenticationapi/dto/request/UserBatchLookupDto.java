@@ -0,0 +1,14 @@
+package com.example.userauthenticationapi.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserBatchLookupDto {
+    private List<Long> ids;
+
+    private List<String> usernames;
+
+    private List<String> emails;
+}
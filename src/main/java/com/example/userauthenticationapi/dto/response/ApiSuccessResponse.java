@@ -9,12 +9,12 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ApiSuccessResponse {
+public class ApiSuccessResponse<T> {
     private boolean success;
 
     private String message;
 
-    private String data;
+    private T data;
 
     private LocalDateTime timestamp;
 }
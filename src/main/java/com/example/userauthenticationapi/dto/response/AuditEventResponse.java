@@ -0,0 +1,25 @@
+package com.example.userauthenticationapi.dto.response;
+
+import com.example.userauthenticationapi.model.enums.AuditEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditEventResponse {
+    private Long id;
+
+    private AuditEventType eventType;
+
+    private LocalDateTime occurredAt;
+
+    private String principal;
+
+    private String clientIp;
+
+    private String detail;
+}
@@ -0,0 +1,18 @@
+package com.example.userauthenticationapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityResponse {
+    private String email;
+
+    private Boolean emailAvailable;
+
+    private String username;
+
+    private Boolean usernameAvailable;
+}
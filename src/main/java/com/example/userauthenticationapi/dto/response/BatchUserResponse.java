@@ -0,0 +1,18 @@
+package com.example.userauthenticationapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchUserResponse {
+    private List<UserLookupResult<Long>> ids;
+
+    private List<UserLookupResult<String>> usernames;
+
+    private List<UserLookupResult<String>> emails;
+}
@@ -1,5 +1,7 @@
 package com.example.userauthenticationapi.dto.response;
 
+import com.example.userauthenticationapi.web.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +11,7 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class DeleteUserResponse {
     private Long id;
 
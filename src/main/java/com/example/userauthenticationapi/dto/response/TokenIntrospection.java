@@ -0,0 +1,30 @@
+package com.example.userauthenticationapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Introspection result for one token. Times are epoch seconds; an active result may be cached by
+ * the caller until {@code cacheUntil}, never past the token's own expiry.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenIntrospection {
+    private boolean active;
+
+    private String subject;
+
+    private String role;
+
+    private Long expiresAt;
+
+    private Long cacheUntil;
+
+    private String reason;
+
+    public static TokenIntrospection inactive(String reason) {
+        return new TokenIntrospection(false, null, null, null, null, reason);
+    }
+}
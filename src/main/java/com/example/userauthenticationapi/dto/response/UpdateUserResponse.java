@@ -1,5 +1,8 @@
 package com.example.userauthenticationapi.dto.response;
 
+import com.example.userauthenticationapi.web.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class UpdateUserResponse {
     private Long id;
 
@@ -17,4 +21,7 @@ public class UpdateUserResponse {
     private String username;
 
     private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    private Long version;
 }
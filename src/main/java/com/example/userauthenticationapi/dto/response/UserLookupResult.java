@@ -0,0 +1,16 @@
+package com.example.userauthenticationapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserLookupResult<K> {
+    private K key;
+
+    private boolean found;
+
+    private UserResponse user;
+}
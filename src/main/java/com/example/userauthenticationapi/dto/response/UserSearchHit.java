@@ -0,0 +1,18 @@
+package com.example.userauthenticationapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSearchHit {
+    private Long id;
+
+    private String email;
+
+    private String username;
+
+    private String fullName;
+}
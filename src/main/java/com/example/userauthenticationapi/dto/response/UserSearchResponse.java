@@ -0,0 +1,16 @@
+package com.example.userauthenticationapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSearchResponse {
+    private List<UserSearchHit> users;
+
+    private String nextCursor;
+}
@@ -0,0 +1,36 @@
+package com.example.userauthenticationapi.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base type for exceptions that {@link ApiExceptionHandler} turns into an {@code ApiErrorResponse}.
+ * Stack traces are not captured unless {@code spring.exception.stack-traces} is enabled,
+ * since these are expected outcomes on hot paths such as failed logins and missing users.
+ */
+public abstract class ApiException extends RuntimeException {
+
+    private static volatile boolean stackTracesEnabled = false;
+
+    private final HttpStatus status;
+
+    protected ApiException(String message, HttpStatus status) {
+        this(message, null, status);
+    }
+
+    protected ApiException(String message, Throwable cause, HttpStatus status) {
+        super(message, cause, false, stackTracesEnabled);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public static boolean isStackTracesEnabled() {
+        return stackTracesEnabled;
+    }
+
+    public static void setStackTracesEnabled(boolean enabled) {
+        stackTracesEnabled = enabled;
+    }
+}
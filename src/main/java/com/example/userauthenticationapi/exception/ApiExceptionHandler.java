@@ -1,89 +1,89 @@
 package com.example.userauthenticationapi.exception;
 
 import com.example.userauthenticationapi.dto.response.ApiErrorResponse;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 
 @ControllerAdvice
 public class ApiExceptionHandler {
 
-    private ResponseEntity<ApiErrorResponse> buildResponse(ApiErrorResponse apiErrorResponse, HttpStatus httpStatus) {
-        return ResponseEntity.status(httpStatus).body(apiErrorResponse);
-    }
+    private static final String UNIQUE_VIOLATION = "23505";
 
-    @ExceptionHandler(value = {ResourceNotFoundException.class})
-    public ResponseEntity<ApiErrorResponse> handleResourceNotFound(ResourceNotFoundException e) {
-        return buildResponse(
-                new ApiErrorResponse(
-                        false,
-                        e.getMessage(),
-                        LocalDateTime.now()
-                ),
-                HttpStatus.NOT_FOUND
-        );
-    }
+    // PostgreSQL names the unnamed unique constraints of 001-db.changelog-users users_email_key and users_username_key.
+    private static final List<String> USER_KEY_COLUMNS = List.of("email", "username");
 
-    @ExceptionHandler(value = {BadRequestException.class})
-    public ResponseEntity<ApiErrorResponse> handleBadRequest(BadRequestException e) {
-        return buildResponse(
-                new ApiErrorResponse(
-                        false,
-                        e.getMessage(),
-                        LocalDateTime.now()
-                ),
-                HttpStatus.BAD_REQUEST
-        );
+    @ExceptionHandler(value = {ApiException.class})
+    public ResponseEntity<ApiErrorResponse> handleApiException(ApiException e) {
+        return ResponseEntity
+                .status(e.getStatus())
+                .body(
+                        new ApiErrorResponse(
+                                false,
+                                e.getMessage(),
+                                LocalDateTime.now()
+                        )
+                );
     }
 
-    @ExceptionHandler(value = {ConflictException.class})
-    public ResponseEntity<ApiErrorResponse> handleConflict(ConflictException e) {
-        return buildResponse(
-                new ApiErrorResponse(
-                        false,
-                        e.getMessage(),
-                        LocalDateTime.now()
-                ),
-                HttpStatus.CONFLICT
-        );
+    /**
+     * The row changed between our read and our conditional UPDATE; the client should re-read and retry.
+     */
+    @ExceptionHandler(value = {OptimisticLockingFailureException.class})
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(
+                        new ApiErrorResponse(
+                                false,
+                                "Resource was modified concurrently, please retry.",
+                                LocalDateTime.now()
+                        )
+                );
     }
 
-    @ExceptionHandler(value = {ForbiddenException.class})
-    public ResponseEntity<ApiErrorResponse> handleForbidden(ForbiddenException e) {
-        return buildResponse(
-                new ApiErrorResponse(
-                        false,
-                        e.getMessage(),
-                        LocalDateTime.now()
-                ),
-                HttpStatus.FORBIDDEN
-        );
-    }
+    /**
+     * Availability checks run outside any lock, so two concurrent sign-ups for the same key can both
+     * pass them; the unique constraint decides and the loser gets the same 409 as a checked conflict.
+     * Any other integrity violation is a bug, not a conflict, and is rethrown to the default handling.
+     */
+    @ExceptionHandler(value = {DataIntegrityViolationException.class})
+    public ResponseEntity<ApiErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        if (!isDuplicateUserKey(e)) {
+            throw e;
+        }
 
-    @ExceptionHandler(value = {UnauthorizedException.class})
-    public ResponseEntity<ApiErrorResponse> handleUnauthorized(UnauthorizedException e) {
-        return buildResponse(
-                new ApiErrorResponse(
-                        false,
-                        e.getMessage(),
-                        LocalDateTime.now()
-                ),
-                HttpStatus.UNAUTHORIZED
-        );
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(
+                        new ApiErrorResponse(
+                                false,
+                                "Email or username is already taken.",
+                                LocalDateTime.now()
+                        )
+                );
     }
 
-    @ExceptionHandler(value = {ValidationException.class})
-    public ResponseEntity<ApiErrorResponse> handleValidation(ValidationException e) {
-        return buildResponse(
-                new ApiErrorResponse(
-                        false,
-                        e.getMessage(),
-                        LocalDateTime.now()
-                ),
-                HttpStatus.BAD_REQUEST
-        );
+    private static boolean isDuplicateUserKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraintName = violation.getConstraintName();
+
+                return UNIQUE_VIOLATION.equals(violation.getSQLState())
+                        && constraintName != null
+                        && USER_KEY_COLUMNS.stream()
+                                .anyMatch(constraintName.toLowerCase(Locale.ROOT)::contains);
+            }
+        }
+
+        return false;
     }
 }
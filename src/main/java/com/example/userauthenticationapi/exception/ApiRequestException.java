@@ -1,12 +1,14 @@
 package com.example.userauthenticationapi.exception;
 
-public class ApiRequestException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class ApiRequestException extends ApiException {
 
     public ApiRequestException(String message) {
-        super(message);
+        super(message, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     public ApiRequestException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
@@ -1,7 +1,9 @@
 package com.example.userauthenticationapi.exception;
 
-public class ForbiddenException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class ForbiddenException extends ApiException {
     public ForbiddenException(String message) {
-        super(message);
+        super(message, HttpStatus.FORBIDDEN);
     }
 }
@@ -0,0 +1,9 @@
+package com.example.userauthenticationapi.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class PreconditionFailedException extends ApiException {
+    public PreconditionFailedException(String message) {
+        super(message, HttpStatus.PRECONDITION_FAILED);
+    }
+}
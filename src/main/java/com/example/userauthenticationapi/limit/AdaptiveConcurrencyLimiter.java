@@ -0,0 +1,110 @@
+package com.example.userauthenticationapi.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-style concurrency limit. It compares a long-term average round trip against a short-term one:
+ * when recent requests are slower than the baseline the limit shrinks towards
+ * {@code limit * gradient}; when they are not it probes upwards by {@code sqrt(limit)}.
+ * Samples taken while less than half the limit is in use carry no signal and are ignored,
+ * so an idle server does not grow its limit without bound.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_WINDOW = 600;
+
+    private static final double SHORT_WINDOW = 10;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double smoothing;
+
+    private final double rttTolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    private double longRttNanos;
+
+    private double shortRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+    }
+
+    /**
+     * Admits a request of the given priority, returning the in-flight count it observed,
+     * or {@code -1} when it must be shed.
+     */
+    public int tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.getShare()));
+
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= allowed) {
+                return -1;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        onSample(rttNanos, inFlightAtStart);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized double getLongRttNanos() {
+        return longRttNanos;
+    }
+
+    public synchronized double getShortRttNanos() {
+        return shortRttNanos;
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+            return;
+        }
+
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+
+        // After a long overload the baseline is inflated; pull it back so the limit can recover.
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(rttTolerance * longRttNanos / shortRttNanos, 0.5, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.userauthenticationapi.limit;
+
+import com.example.userauthenticationapi.dto.response.ApiErrorResponse;
+import com.example.userauthenticationapi.security.filter.JwtFilter;
+import com.example.userauthenticationapi.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs first in the security filter chain and sheds requests the {@link AdaptiveConcurrencyLimiter}
+ * cannot admit with {@code 503} and {@code Retry-After}. Priority comes from the path and from a
+ * bearer token whose signature and expiry verify; anything else in the header counts as anonymous,
+ * so made-up tokens cannot claim the authenticated share. The verified claims are handed on to
+ * {@link JwtFilter} so the token is parsed once per request.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Map<String, RequestPriority> PATH_PRIORITIES = Map.of(
+            "/api/v1/authentication/signup", RequestPriority.BULK,
+            "/api/v1/authentication/verification-code/resend", RequestPriority.BULK,
+            "/api/v1/authentication/login", RequestPriority.SESSION_SETUP,
+            "/api/v1/authentication/verification-code/verify", RequestPriority.SESSION_SETUP,
+            "/api/v1/authentication/token/refresh", RequestPriority.SESSION_SETUP,
+            "/api/v1/user/search", RequestPriority.BULK
+    );
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final ObjectMapper objectMapper;
+
+    private final JwtService jwtService;
+
+    private final String retryAfterSeconds;
+
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper,
+                                  JwtService jwtService, MeterRegistry meterRegistry, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.jwtService = jwtService;
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+
+        Gauge.builder("http.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("http.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        Gauge.builder("http.limiter.rtt.long", limiter, l -> l.getLongRttNanos() / 1_000_000)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("http.limiter.rtt.short", limiter, l -> l.getShortRttNanos() / 1_000_000)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, Counter.builder("http.limiter.rejected")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPriority priority = classify(request);
+        int inFlight = limiter.tryAcquire(priority);
+
+        if (inFlight < 0) {
+            rejected.get(priority).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start, inFlight);
+        }
+    }
+
+    RequestPriority classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RequestPriority priority = PATH_PRIORITIES.get(path);
+
+        if (priority != null) {
+            return priority;
+        }
+
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return RequestPriority.ANONYMOUS;
+        }
+
+        try {
+            Claims claims = jwtService.extractAllClaims(authorization.substring(7));
+            request.setAttribute(JwtFilter.VERIFIED_CLAIMS_ATTRIBUTE, claims);
+            return RequestPriority.AUTHENTICATED;
+        } catch (JwtException | IllegalArgumentException e) {
+            return RequestPriority.ANONYMOUS;
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiErrorResponse(
+                false,
+                "Server is busy. Please retry later.",
+                LocalDateTime.now()
+        ));
+    }
+}
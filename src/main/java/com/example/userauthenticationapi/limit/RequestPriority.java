@@ -0,0 +1,19 @@
+package com.example.userauthenticationapi.limit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Traffic classes in shedding order. A class is admitted only while in-flight requests stay below
+ * its share of the learned limit, so as the server saturates the lowest share is turned away first.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RequestPriority {
+    AUTHENTICATED(1.0),
+    SESSION_SETUP(0.85),
+    ANONYMOUS(0.75),
+    BULK(0.6);
+
+    private final double share;
+}
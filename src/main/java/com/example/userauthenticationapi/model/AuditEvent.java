@@ -0,0 +1,50 @@
+package com.example.userauthenticationapi.model;
+
+import com.example.userauthenticationapi.model.enums.AuditEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One authentication audit record. Rows are inserted in batches by the {@code AuditLog} writer and
+ * never updated; in Postgres the table is range-partitioned by month on {@code occurredAt}.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_events")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private AuditEventType eventType;
+
+    private Long userId;
+
+    private String principal;
+
+    @Column(length = 45)
+    private String clientIp;
+
+    private String detail;
+}
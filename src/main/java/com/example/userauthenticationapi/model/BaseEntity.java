@@ -4,11 +4,15 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @MappedSuperclass
 @NoArgsConstructor
@@ -22,4 +26,25 @@ public class BaseEntity {
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    // Every update is conditional on it, so concurrent read-modify-writes fail instead of overwriting.
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = now();
+        createdAt = now;
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = now();
+    }
+
+    // Postgres keeps microseconds; truncating here keeps ETags stable across a write and a re-read.
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
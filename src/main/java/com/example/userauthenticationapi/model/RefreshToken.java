@@ -0,0 +1,46 @@
+package com.example.userauthenticationapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One opaque refresh token, stored only as its SHA-256 hash. Tokens rotated from the same login
+ * share a {@code familyId}; replaying a used token revokes the whole family.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@NoArgsConstructor
+@Getter @Setter
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 43)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private UUID familyId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime familyExpiresAt;
+
+    private boolean used;
+}
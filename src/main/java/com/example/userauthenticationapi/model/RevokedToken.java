@@ -0,0 +1,40 @@
+package com.example.userauthenticationapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An access token revoked before its expiry, kept until {@code expiresAt} so that every node can
+ * load it into its {@code TokenRevocationList}.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    // Assigned by the database on insert; the poll watermark, since node clocks do not agree.
+    @Column(insertable = false, updatable = false)
+    private Long seq;
+}
@@ -1,9 +1,12 @@
 package com.example.userauthenticationapi.model;
 
+import com.example.userauthenticationapi.datasource.UserWriteListener;
 import com.example.userauthenticationapi.model.converter.RoleConverter;
 import com.example.userauthenticationapi.model.enums.Role;
+import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,6 +15,7 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity(name = "users")
+@EntityListeners(UserWriteListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter @Setter
@@ -32,4 +36,14 @@ public class User extends BaseEntity {
     private LocalDateTime verificationCodeExpiresAt;
 
     private boolean isAccountVerified;
+
+    @Column(nullable = false)
+    private long securityEpoch;
+
+    // Written only by UserActivityTracker, so a stale entity save cannot move them backwards.
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastSeenAt;
 }
@@ -0,0 +1,10 @@
+package com.example.userauthenticationapi.model.enums;
+
+public enum AuditEventType {
+    SIGN_UP,
+    LOGIN_SUCCEEDED,
+    LOGIN_FAILED,
+    VERIFICATION_SUCCEEDED,
+    VERIFICATION_FAILED,
+    LOGOUT
+}
@@ -0,0 +1,36 @@
+package com.example.userauthenticationapi.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Fine-grained permissions. Each one owns a bit in a {@code long} mask, so a role's permissions
+ * fit in one word and a check is a single AND.
+ */
+@Getter
+public enum Permission {
+    USER_READ("user:read"),
+    USER_WRITE("user:write"),
+    USER_DELETE("user:delete"),
+    USER_SEARCH("user:search"),
+    AUDIT_READ("audit:read"),
+    TOKEN_INTROSPECT("token:introspect");
+
+    private final String authority;
+
+    private final long mask;
+
+    Permission(String authority) {
+        this.authority = authority;
+        this.mask = 1L << ordinal();
+    }
+
+    public static long maskOf(Permission... permissions) {
+        long mask = 0;
+
+        for (Permission permission : permissions) {
+            mask |= permission.mask;
+        }
+
+        return mask;
+    }
+}
@@ -1,17 +1,124 @@
 package com.example.userauthenticationapi.model.enums;
 
 import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Roles with a hierarchy: a role implies every role it lists as inherited and holds their
+ * permissions. Masks and authority lists are computed once, so checks and
+ * {@link #getAuthorities()} never allocate.
+ */
 @Getter
 public enum Role {
-    User, Admin;
+    User(new Role[0], Permission.USER_READ),
+    Admin(new Role[]{User}, Permission.USER_WRITE, Permission.USER_DELETE, Permission.USER_SEARCH, Permission.AUDIT_READ,
+            Permission.TOKEN_INTROSPECT);
+
+    private static final Map<String, Role> BY_NAME = new HashMap<>();
+
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_ROLE_MASK;
+
+    static {
+        for (Role role : values()) {
+            BY_NAME.put(role.name(), role);
+            BY_NAME.put(role.name().toLowerCase(Locale.ROOT), role);
+        }
+
+        int combinations = 1 << values().length;
+        List<List<GrantedAuthority>> table = new ArrayList<>(combinations);
+
+        for (int roleMask = 0; roleMask < combinations; roleMask++) {
+            table.add(buildAuthorities(roleMask));
+        }
+
+        AUTHORITIES_BY_ROLE_MASK = List.copyOf(table);
+
+        for (Role role : values()) {
+            role.authorities = AUTHORITIES_BY_ROLE_MASK.get(1 << role.ordinal());
+        }
+    }
+
+    private final long roleMask;
+
+    private final long permissionMask;
+
+    private List<GrantedAuthority> authorities;
+
+    Role(Role[] inherits, Permission... permissions) {
+        long roles = 1L << ordinal();
+        long granted = Permission.maskOf(permissions);
+
+        for (Role parent : inherits) {
+            roles |= parent.roleMask;
+            granted |= parent.permissionMask;
+        }
+
+        this.roleMask = roles;
+        this.permissionMask = granted;
+    }
+
+    public boolean implies(Role role) {
+        return (roleMask & role.roleMask) == role.roleMask;
+    }
+
+    public boolean grants(Permission permission) {
+        return (permissionMask & permission.getMask()) != 0;
+    }
+
+    /**
+     * Interned authorities for a combination of held roles, given as a mask with bit {@code ordinal()} set per role.
+     */
+    public static List<GrantedAuthority> authoritiesFor(long heldRoles) {
+        return AUTHORITIES_BY_ROLE_MASK.get((int) heldRoles);
+    }
 
     public static Role fromString(String role) {
-        for (Role r : Role.values()) {
-            if (r.toString().equalsIgnoreCase(role)) {
-                return r;
+        if (role != null) {
+            Role found = BY_NAME.get(role);
+
+            if (found == null) {
+                found = BY_NAME.get(role.toLowerCase(Locale.ROOT));
+            }
+
+            if (found != null) {
+                return found;
             }
         }
+
         throw new IllegalArgumentException("Invalid role: " + role);
     }
+
+    private static List<GrantedAuthority> buildAuthorities(int heldRoles) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        long effectiveRoles = 0;
+        long permissions = 0;
+
+        for (Role role : values()) {
+            if ((heldRoles & (1L << role.ordinal())) != 0) {
+                effectiveRoles |= role.roleMask;
+                permissions |= role.permissionMask;
+            }
+        }
+
+        for (Role role : values()) {
+            if ((effectiveRoles & (1L << role.ordinal())) != 0) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + role.name().toUpperCase(Locale.ROOT)));
+            }
+        }
+
+        for (Permission permission : Permission.values()) {
+            if ((permissions & permission.getMask()) != 0) {
+                authorities.add(new SimpleGrantedAuthority(permission.getAuthority()));
+            }
+        }
+
+        return List.copyOf(authorities);
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.userauthenticationapi.repo;
+
+import com.example.userauthenticationapi.model.AuditEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditEventRepo extends JpaRepository<AuditEvent, Long> {
+
+    @Query("select e from AuditEvent e where e.userId = :userId " +
+            "and (e.occurredAt < :beforeAt or (e.occurredAt = :beforeAt and e.id < :beforeId)) " +
+            "order by e.occurredAt desc, e.id desc")
+    List<AuditEvent> findHistory(@Param("userId") Long userId, @Param("beforeAt") LocalDateTime beforeAt,
+                                 @Param("beforeId") long beforeId, Limit limit);
+}
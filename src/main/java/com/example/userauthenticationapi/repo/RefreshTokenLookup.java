@@ -0,0 +1,7 @@
+package com.example.userauthenticationapi.repo;
+
+import com.example.userauthenticationapi.model.RefreshToken;
+import com.example.userauthenticationapi.model.User;
+
+public record RefreshTokenLookup(RefreshToken token, User user) {
+}
@@ -0,0 +1,40 @@
+package com.example.userauthenticationapi.repo;
+
+import com.example.userauthenticationapi.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepo extends JpaRepository<RefreshToken, Long> {
+
+    @Query("select new com.example.userauthenticationapi.repo.RefreshTokenLookup(t, u) " +
+            "from RefreshToken t join users u on u.id = t.userId where t.tokenHash = :tokenHash")
+    Optional<RefreshTokenLookup> findLookupByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Marks the token used only if nobody else did first; {@code 0} means the token was replayed.
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.used = true where t.id = :id and t.used = false")
+    int markUsed(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN " +
+            "(SELECT id FROM refresh_tokens WHERE family_expires_at < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredFamilies(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,25 @@
+package com.example.userauthenticationapi.repo;
+
+import com.example.userauthenticationapi.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepo extends JpaRepository<RevokedToken, String> {
+
+    // Read-write so the routing data source sends it to the primary; a lagging replica would hide
+    // revocations that other nodes already deny.
+    @Transactional
+    List<RevokedToken> findAllBySeqGreaterThanAndExpiresAtAfterOrderBySeq(long since, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM revoked_tokens WHERE jti IN " +
+            "(SELECT jti FROM revoked_tokens WHERE expires_at < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,10 @@
+package com.example.userauthenticationapi.repo;
+
+/**
+ * Closed projection of the unique user keys, used to rebuild the availability filter.
+ */
+public interface UserIdentity {
+    String getEmail();
+
+    String getUsername();
+}
@@ -1,9 +1,19 @@
 package com.example.userauthenticationapi.repo;
 
+import com.example.userauthenticationapi.dto.response.UserResponse;
 import com.example.userauthenticationapi.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepo extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
@@ -12,10 +22,40 @@ public interface UserRepo extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<User> findWithLockById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<User> findWithLockByUsername(String username);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<User> findWithLockByEmail(String email);
+
+    List<User> findAllByUsernameIn(Collection<String> usernames);
+
+    List<User> findAllByEmailIn(Collection<String> emails);
+
+    Optional<UserVersion> findVersionById(Long id);
+
+    Optional<UserVersion> findVersionByUsername(String username);
+
+    Optional<UserVersion> findVersionByEmail(String email);
+
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
 
+    boolean existsByIdNotNull();
+
+    @Query("select new com.example.userauthenticationapi.dto.response.UserResponse(u.id, u.email, u.username, u.createdAt, u.updatedAt, u.version) " +
+            "from users u order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UserResponse> streamAllResponses();
+
+    @Query("select u.email as email, u.username as username from users u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserIdentity> streamAllIdentities();
+
     User getByUsername(String username);
 
     User getByEmail(String email);
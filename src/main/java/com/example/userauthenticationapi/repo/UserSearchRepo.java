@@ -0,0 +1,65 @@
+package com.example.userauthenticationapi.repo;
+
+import com.example.userauthenticationapi.model.User;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated user search. Postgres only: prefix queries walk the {@code COLLATE "C"} expression
+ * indexes from changelog 005 in key order, fuzzy queries use the pg_trgm GiST indexes as a
+ * nearest-neighbour scan ordered by trigram distance. Both stop after {@code limit} rows, so the
+ * cost of a page does not grow with the table.
+ */
+public interface UserSearchRepo extends Repository<User, Long> {
+
+    @Query(value = "SELECT id, email, username, full_name AS \"fullName\", " +
+            "lower(username) COLLATE \"C\" AS \"matchKey\", CAST(NULL AS float8) AS distance FROM users " +
+            "WHERE lower(username) COLLATE \"C\" LIKE :pattern ESCAPE '\\' " +
+            "AND (lower(username) COLLATE \"C\", id) > (:afterKey, :afterId) " +
+            "ORDER BY lower(username) COLLATE \"C\", id LIMIT :limit", nativeQuery = true)
+    List<UserSearchRow> findByUsernamePrefix(@Param("pattern") String pattern,
+            @Param("afterKey") String afterKey, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id, email, username, full_name AS \"fullName\", " +
+            "lower(email) COLLATE \"C\" AS \"matchKey\", CAST(NULL AS float8) AS distance FROM users " +
+            "WHERE lower(email) COLLATE \"C\" LIKE :pattern ESCAPE '\\' " +
+            "AND (lower(email) COLLATE \"C\", id) > (:afterKey, :afterId) " +
+            "ORDER BY lower(email) COLLATE \"C\", id LIMIT :limit", nativeQuery = true)
+    List<UserSearchRow> findByEmailPrefix(@Param("pattern") String pattern,
+            @Param("afterKey") String afterKey, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id, email, username, full_name AS \"fullName\", " +
+            "lower(full_name) COLLATE \"C\" AS \"matchKey\", CAST(NULL AS float8) AS distance FROM users " +
+            "WHERE lower(full_name) COLLATE \"C\" LIKE :pattern ESCAPE '\\' " +
+            "AND (lower(full_name) COLLATE \"C\", id) > (:afterKey, :afterId) " +
+            "ORDER BY lower(full_name) COLLATE \"C\", id LIMIT :limit", nativeQuery = true)
+    List<UserSearchRow> findByFullNamePrefix(@Param("pattern") String pattern,
+            @Param("afterKey") String afterKey, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id, email, username, full_name AS \"fullName\", " +
+            "lower(username) AS \"matchKey\", CAST(lower(username) <-> :query AS float8) AS distance FROM users " +
+            "WHERE lower(username) % :query " +
+            "AND (CAST(lower(username) <-> :query AS float8), id) > (:afterDistance, :afterId) " +
+            "ORDER BY lower(username) <-> :query, id LIMIT :limit", nativeQuery = true)
+    List<UserSearchRow> findByUsernameSimilarity(@Param("query") String query,
+            @Param("afterDistance") double afterDistance, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id, email, username, full_name AS \"fullName\", " +
+            "lower(email) AS \"matchKey\", CAST(lower(email) <-> :query AS float8) AS distance FROM users " +
+            "WHERE lower(email) % :query " +
+            "AND (CAST(lower(email) <-> :query AS float8), id) > (:afterDistance, :afterId) " +
+            "ORDER BY lower(email) <-> :query, id LIMIT :limit", nativeQuery = true)
+    List<UserSearchRow> findByEmailSimilarity(@Param("query") String query,
+            @Param("afterDistance") double afterDistance, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id, email, username, full_name AS \"fullName\", " +
+            "lower(full_name) AS \"matchKey\", CAST(lower(full_name) <-> :query AS float8) AS distance FROM users " +
+            "WHERE lower(full_name) % :query " +
+            "AND (CAST(lower(full_name) <-> :query AS float8), id) > (:afterDistance, :afterId) " +
+            "ORDER BY lower(full_name) <-> :query, id LIMIT :limit", nativeQuery = true)
+    List<UserSearchRow> findByFullNameSimilarity(@Param("query") String query,
+            @Param("afterDistance") double afterDistance, @Param("afterId") long afterId, @Param("limit") int limit);
+}
@@ -0,0 +1,20 @@
+package com.example.userauthenticationapi.repo;
+
+/**
+ * Row returned by the user search queries. {@code matchKey} and {@code distance} are the keyset
+ * position of the row: the lower-cased column for prefix search, the trigram distance for fuzzy
+ * search.
+ */
+public interface UserSearchRow {
+    Long getId();
+
+    String getEmail();
+
+    String getUsername();
+
+    String getFullName();
+
+    String getMatchKey();
+
+    Double getDistance();
+}
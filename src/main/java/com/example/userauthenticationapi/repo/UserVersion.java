@@ -0,0 +1,10 @@
+package com.example.userauthenticationapi.repo;
+
+/**
+ * Closed projection used to answer conditional GETs without loading the whole row.
+ */
+public interface UserVersion {
+    Long getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,44 @@
+package com.example.userauthenticationapi.security.authorization;
+
+import com.example.userauthenticationapi.model.enums.Permission;
+import com.example.userauthenticationapi.security.model.UserPrincipal;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Grants access when the authenticated {@link UserPrincipal}'s role holds a permission.
+ * The check is a mask test and the decisions are shared constants, so it allocates nothing.
+ */
+public final class PermissionAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Permission permission;
+
+    private PermissionAuthorizationManager(Permission permission) {
+        this.permission = permission;
+    }
+
+    public static <T> PermissionAuthorizationManager<T> hasPermission(Permission permission) {
+        return new PermissionAuthorizationManager<>(permission);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        Authentication auth = authentication.get();
+
+        if (auth != null
+                && auth.isAuthenticated()
+                && auth.getPrincipal() instanceof UserPrincipal principal
+                && principal.hasPermission(permission)) {
+            return GRANTED;
+        }
+
+        return DENIED;
+    }
+}
@@ -1,7 +1,16 @@
 package com.example.userauthenticationapi.security.filter;
 
+import com.example.userauthenticationapi.activity.UserActivityTracker;
+import com.example.userauthenticationapi.diagnostics.jfr.TokenParseEvent;
+import com.example.userauthenticationapi.diagnostics.jfr.UserLookupEvent;
+import com.example.userauthenticationapi.security.model.UserPrincipal;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
 import com.example.userauthenticationapi.service.JwtService;
 import com.example.userauthenticationapi.service.MyUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +20,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,28 +30,38 @@ import java.io.IOException;
 @Component
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
+    /** Claims already verified earlier in the chain, by {@code ConcurrencyLimitFilter}. */
+    public static final String VERIFIED_CLAIMS_ATTRIBUTE = JwtFilter.class.getName() + ".VERIFIED_CLAIMS";
+
     private final JwtService jwtService;
 
     private final ApplicationContext applicationContext;
 
+    private final TokenRevocationList tokenRevocationList;
+
+    private final UserActivityTracker userActivityTracker;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
+        Claims claims = null;
         String username = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtService.extractUsername(token);
+            claims = request.getAttribute(VERIFIED_CLAIMS_ATTRIBUTE) instanceof Claims verified
+                    ? verified
+                    : parseClaims(authHeader.substring(7));
+
+            if (claims != null && !tokenRevocationList.isRevoked(claims.getId())) {
+                username = claims.getSubject();
+            }
         }
 
         if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = applicationContext
-                    .getBean(MyUserDetailsService.class)
-                    .loadUserByUsername(username);
+            UserDetails userDetails = loadUser(username);
 
-            if(jwtService.validateToken(token, userDetails)) {
+            if(userDetails != null && jwtService.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities()
@@ -49,9 +69,54 @@ public class JwtFilter extends OncePerRequestFilter {
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                if (userDetails instanceof UserPrincipal principal) {
+                    userActivityTracker.seen(principal.getId());
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Returns {@code null} for a token that does not verify. The request then carries on
+     * unauthenticated: permitAll endpoints such as token refresh still answer, and protected ones
+     * get a 401 from the entry point instead of an error dispatch.
+     */
+    private Claims parseClaims(String token) {
+        TokenParseEvent parseEvent = new TokenParseEvent();
+        parseEvent.begin();
+
+        try {
+            Claims claims = jwtService.extractAllClaims(token);
+            parseEvent.finish("valid");
+            return claims;
+        } catch (ExpiredJwtException e) {
+            parseEvent.finish("expired");
+            return null;
+        } catch (SignatureException e) {
+            parseEvent.finish("bad-signature");
+            return null;
+        } catch (JwtException | IllegalArgumentException e) {
+            parseEvent.finish("malformed");
+            return null;
+        }
+    }
+
+    private UserDetails loadUser(String username) {
+        UserLookupEvent lookupEvent = new UserLookupEvent();
+        lookupEvent.begin();
+
+        try {
+            UserDetails userDetails = applicationContext
+                    .getBean(MyUserDetailsService.class)
+                    .loadUserByUsername(username);
+            lookupEvent.finish("found");
+            return userDetails;
+        } catch (UsernameNotFoundException e) {
+            lookupEvent.finish("not-found");
+            return null;
+        }
+    }
 }
@@ -1,14 +1,13 @@
 package com.example.userauthenticationapi.security.model;
 
 import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.model.enums.Permission;
 import com.example.userauthenticationapi.model.enums.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.Collections;
 
 @RequiredArgsConstructor
 public class UserPrincipal implements UserDetails {
@@ -16,9 +15,23 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Role userRole = user.getRole();
+        return user.getRole().getAuthorities();
+    }
+
+    public Long getId() {
+        return user.getId();
+    }
+
+    public long getSecurityEpoch() {
+        return user.getSecurityEpoch();
+    }
+
+    public Role getRole() {
+        return user.getRole();
+    }
 
-        return Collections.singleton(new SimpleGrantedAuthority(userRole.toString()));
+    public boolean hasPermission(Permission permission) {
+        return user.getRole().grants(permission);
     }
 
     @Override
@@ -0,0 +1,119 @@
+package com.example.userauthenticationapi.security.revocation;
+
+import com.example.tokenverifier.RevocationCheck;
+import com.example.userauthenticationapi.model.RevokedToken;
+import com.example.userauthenticationapi.repo.RevokedTokenRepo;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory deny-list of revoked access token ids, backed by the {@code revoked_tokens} table.
+ *
+ * <p>{@link #isRevoked(String)} is a single lookup in an exact in-memory set, so the request path
+ * never touches the database. The set stays small because an id only needs to be denied until its
+ * access token would have expired anyway (minutes), after which it is pruned; at that size a Bloom
+ * filter in front would add hash probes and memory without saving a lookup. Revocations made on
+ * other nodes are picked up by {@link #poll()}, which bounds convergence to the poll interval.
+ *
+ * <p>The poll watermark is the database-assigned {@code seq} of the rows, not their
+ * {@code revokedAt}, which each node stamps from its own clock.
+ */
+public class TokenRevocationList implements RevocationCheck {
+
+    private final RevokedTokenRepo revokedTokenRepo;
+
+    private final Duration pollOverlap;
+
+    private final int cleanupBatchSize;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    private final Deque<Mark> marks = new ArrayDeque<>();
+
+    private long watermark;
+
+    private long floor;
+
+    public TokenRevocationList(RevokedTokenRepo revokedTokenRepo, Duration pollOverlap, int cleanupBatchSize) {
+        this.revokedTokenRepo = revokedTokenRepo;
+        this.pollOverlap = pollOverlap;
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, Long userId, Date expiration) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault());
+
+        revokedTokenRepo.save(new RevokedToken(jti, userId, expiresAt, LocalDateTime.now(), null));
+        add(jti, expiresAt);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        poll();
+    }
+
+    /**
+     * Loads revocations recorded since the last poll. Sequence values are handed out at insert but
+     * become visible at commit, so a row can appear below a watermark already seen. The query
+     * therefore starts from the watermark as it stood {@code pollOverlap} ago; re-adding a known id
+     * is harmless.
+     */
+    @Scheduled(fixedDelayString = "${spring.jwt.revocation.poll-interval-ms:1000}",
+            initialDelayString = "${spring.jwt.revocation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        long cutoff = System.nanoTime() - pollOverlap.toNanos();
+
+        while (!marks.isEmpty() && marks.peekFirst().takenAt() - cutoff <= 0) {
+            floor = marks.removeFirst().watermark();
+        }
+
+        for (RevokedToken token : revokedTokenRepo.findAllBySeqGreaterThanAndExpiresAtAfterOrderBySeq(floor, now)) {
+            add(token.getJti(), token.getExpiresAt());
+            watermark = Math.max(watermark, token.getSeq());
+        }
+
+        marks.addLast(new Mark(System.nanoTime(), watermark));
+        prune(now);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.jwt.revocation.cleanup-interval-ms:600000}",
+            initialDelayString = "${spring.jwt.revocation.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted;
+        do {
+            deleted = revokedTokenRepo.deleteExpired(now, cleanupBatchSize);
+        } while (deleted == cleanupBatchSize);
+    }
+
+    private void add(String jti, LocalDateTime expiresAt) {
+        revoked.put(jti, expiresAt);
+    }
+
+    private void prune(LocalDateTime now) {
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    }
+
+    private record Mark(long takenAt, long watermark) {
+    }
+}
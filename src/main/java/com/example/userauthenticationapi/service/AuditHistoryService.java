@@ -0,0 +1,93 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.dto.response.AuditEventResponse;
+import com.example.userauthenticationapi.dto.response.AuditHistoryResponse;
+import com.example.userauthenticationapi.exception.BadRequestException;
+import com.example.userauthenticationapi.model.AuditEvent;
+import com.example.userauthenticationapi.repo.AuditEventRepo;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Newest-first audit history of one user, keyset-paginated on {@code (occurredAt, id)} so every page
+ * is a short walk of the {@code (user_id, occurred_at, id)} index. Events still waiting in the
+ * {@code AuditLog} buffer show up after the next flush.
+ */
+@Observed(name = "app.service")
+@Service
+@RequiredArgsConstructor
+public class AuditHistoryService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final AuditEventRepo auditEventRepo;
+
+    @Value("${spring.audit.history.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${spring.audit.history.max-limit:200}")
+    private int maxLimit;
+
+    @Transactional(readOnly = true)
+    public AuditHistoryResponse getHistory(Long userId, Integer limit, String cursor) {
+        int pageSize = limit == null ? defaultLimit : limit;
+
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new BadRequestException("Limit must be between 1 and " + maxLimit + ".");
+        }
+
+        LocalDateTime beforeAt = END_OF_TIME;
+        long beforeId = Long.MAX_VALUE;
+
+        if (cursor != null) {
+            try {
+                String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+
+                beforeId = Long.parseLong(decoded.substring(0, separator));
+                beforeAt = LocalDateTime.parse(decoded.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+        }
+
+        // One extra row tells whether there is a next page without a count query.
+        List<AuditEvent> rows = auditEventRepo.findHistory(userId, beforeAt, beforeId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditEvent> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return new AuditHistoryResponse(
+                page.stream().map(AuditHistoryService::toResponse).toList(),
+                hasMore ? encodeCursor(page.getLast()) : null
+        );
+    }
+
+    private static AuditEventResponse toResponse(AuditEvent event) {
+        return new AuditEventResponse(
+                event.getId(),
+                event.getEventType(),
+                event.getOccurredAt(),
+                event.getPrincipal(),
+                event.getClientIp(),
+                event.getDetail()
+        );
+    }
+
+    private static String encodeCursor(AuditEvent last) {
+        return ENCODER.encodeToString((last.getId() + ":" + last.getOccurredAt()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,26 +1,42 @@
 package com.example.userauthenticationapi.service;
 
+import com.example.userauthenticationapi.activity.UserActivityTracker;
+import com.example.userauthenticationapi.audit.AuditLog;
+import com.example.userauthenticationapi.diagnostics.jfr.DbWriteEvent;
+import com.example.userauthenticationapi.diagnostics.jfr.PasswordVerificationEvent;
+import com.example.userauthenticationapi.diagnostics.jfr.UserLookupEvent;
+import com.example.userauthenticationapi.dto.response.TokenResponse;
 import com.example.userauthenticationapi.exception.ConflictException;
 import com.example.userauthenticationapi.exception.ResourceNotFoundException;
 import com.example.userauthenticationapi.exception.UnauthorizedException;
 import com.example.userauthenticationapi.exception.ValidationException;
 import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.model.enums.AuditEventType;
 import com.example.userauthenticationapi.model.enums.Role;
 import com.example.userauthenticationapi.repo.UserRepo;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
 import com.example.userauthenticationapi.dto.request.LoginUserDto;
 import com.example.userauthenticationapi.dto.request.RegisterUserDto;
 import com.example.userauthenticationapi.dto.request.ResendVerificationCodeDto;
 import com.example.userauthenticationapi.dto.request.VerifyUserDto;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
+@Observed(name = "app.service")
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
@@ -33,19 +49,31 @@ public class AuthenticationService {
 
     private final EmailService emailService;
 
+    private final RefreshTokenService refreshTokenService;
+
     private final JwtService jwtService;
 
+    private final TokenRevocationList tokenRevocationList;
+
+    private final UserAvailabilityService userAvailabilityService;
+
+    private final AuditLog auditLog;
+
+    private final UserActivityTracker userActivityTracker;
+
+    @Transactional
+    @Counted(value = "auth.operations", extraTags = {"operation", "sign-up"})
     public void signUp(RegisterUserDto registerUserDto) {
         User user = new User();
 
         String email = registerUserDto.getEmail();
         String username = registerUserDto.getUsername();
 
-        if (userRepo.existsByEmail(email)) {
+        if (!userAvailabilityService.isEmailAvailable(email)) {
             throw new ConflictException("Email is already registered.");
         }
 
-        if (userRepo.existsByUsername(username)) {
+        if (!userAvailabilityService.isUsernameAvailable(username)) {
             throw new ConflictException("Username already taken.");
         }
 
@@ -57,48 +85,80 @@ public class AuthenticationService {
         user.setVerificationCodeExpiresAt(LocalDateTime.now().plusMinutes(5));
         user.setAccountVerified(false);
 
-        emailService.sendEmail(user);
+        sendEmailOnCommit(user);
 
         userRepo.save(user);
+        userAvailabilityService.record(user);
+        auditLog.recordOnCommit(AuditEventType.SIGN_UP, user.getId(), email, null);
     }
 
+    @Transactional
+    @Counted(value = "auth.operations", extraTags = {"operation", "authenticate"})
     public void authenticate(LoginUserDto loginUserDto) {
         String email = loginUserDto.getEmail();
         String password = loginUserDto.getPassword();
-        User user = userRepo.findByEmail(email)
+
+        UserLookupEvent lookupEvent = new UserLookupEvent();
+        lookupEvent.begin();
+        Optional<User> found = userRepo.findByEmail(email);
+        lookupEvent.finish(found.isPresent() ? "found" : "not-found");
+
+        if (found.isEmpty()) {
+            auditLog.record(AuditEventType.LOGIN_FAILED, null, email, "unknown-user");
+        }
+
+        User user = found
                 .orElseThrow(() -> new ResourceNotFoundException("User with email " + email + " not found."));
 
-        if (!passwordEncoder.matches(password, user.getPassword()))
+        PasswordVerificationEvent passwordEvent = new PasswordVerificationEvent("password-encoder");
+        passwordEvent.begin();
+        boolean passwordMatches = passwordEncoder.matches(password, user.getPassword());
+        passwordEvent.finish(passwordMatches ? "match" : "mismatch");
+
+        if (!passwordMatches)
         {
+            auditLog.record(AuditEventType.LOGIN_FAILED, user.getId(), email, "bad-password");
             throw new ValidationException("Password is incorrect.");
         }
 
+        PasswordVerificationEvent managerEvent = new PasswordVerificationEvent("authentication-manager");
+        managerEvent.begin();
         Authentication auth = authManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         user.getUsername(), password
                 )
         );
+        managerEvent.finish(auth.isAuthenticated() ? "match" : "mismatch");
 
         if (auth.isAuthenticated()) {
             user.setAccountVerified(false);
 
             user.setVerificationCode(generateVerificationCode());
             user.setVerificationCodeExpiresAt(LocalDateTime.now().plusMinutes(5));
-            userRepo.save(user);
 
-            emailService.sendEmail(user);
+            DbWriteEvent writeEvent = new DbWriteEvent();
+            writeEvent.begin();
+            userRepo.saveAndFlush(user);
+            writeEvent.finish("login-code");
+
+            sendEmailOnCommit(user);
+            auditLog.recordOnCommit(AuditEventType.LOGIN_SUCCEEDED, user.getId(), email, null);
         }
         else {
+            auditLog.record(AuditEventType.LOGIN_FAILED, user.getId(), email, "not-authenticated");
             throw new UnauthorizedException("User is not authenticated. Please log in first.");
         }
     }
 
-    public String verifyUser(VerifyUserDto verifyUserDto) {
+    @Transactional
+    @Counted(value = "auth.operations", extraTags = {"operation", "verify"})
+    public TokenResponse verifyUser(VerifyUserDto verifyUserDto) {
         User user = userRepo.findByEmail(verifyUserDto.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found."));
-        String jwtToken;
+        TokenResponse tokens;
 
         if (user.getVerificationCodeExpiresAt().isBefore(LocalDateTime.now())) {
+                auditLog.record(AuditEventType.VERIFICATION_FAILED, user.getId(), user.getEmail(), "expired");
                 throw new UnauthorizedException("Verification code has expired.");
         }
 
@@ -107,17 +167,36 @@ public class AuthenticationService {
             user.setVerificationCode(null);
             user.setVerificationCodeExpiresAt(null);
 
-            userRepo.save(user);
+            DbWriteEvent writeEvent = new DbWriteEvent();
+            writeEvent.begin();
+            userRepo.saveAndFlush(user);
+            writeEvent.finish("verified");
 
-            jwtToken = jwtService.generateToken(user.getUsername());
+            tokens = refreshTokenService.issue(user);
+            userActivityTracker.loggedIn(user.getId());
+            auditLog.recordOnCommit(AuditEventType.VERIFICATION_SUCCEEDED, user.getId(), user.getEmail(), null);
         }
         else {
+            auditLog.record(AuditEventType.VERIFICATION_FAILED, user.getId(), user.getEmail(), "invalid-code");
             throw new UnauthorizedException("Verification code is invalid.");
         }
 
-        return jwtToken;
+        return tokens;
+    }
+
+    @Transactional
+    @Counted(value = "auth.operations", extraTags = {"operation", "logout"})
+    public void logout(String accessToken, String refreshToken) {
+        Claims claims = jwtService.extractAllClaims(accessToken);
+        Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+
+        tokenRevocationList.revoke(claims.getId(), userId, claims.getExpiration());
+        refreshTokenService.revoke(refreshToken, userId);
+        auditLog.recordOnCommit(AuditEventType.LOGOUT, userId, claims.getSubject(), null);
     }
 
+    @Transactional
+    @Counted(value = "auth.operations", extraTags = {"operation", "resend-verification-code"})
     public void resendVerificationCode(ResendVerificationCodeDto resendVerificationCodeDto) {
         String email = resendVerificationCodeDto.getEmail();
         User user = userRepo.findByEmail(email)
@@ -131,7 +210,25 @@ public class AuthenticationService {
 
         userRepo.save(user);
 
-        emailService.sendEmail(user);
+        sendEmailOnCommit(user);
+    }
+
+    /**
+     * Hands the verification mail to the async sender once the code is committed, so a rolled-back
+     * sign-up (for example on the unique-constraint 409) never mails a code that does not exist.
+     */
+    private void sendEmailOnCommit(User user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            emailService.sendEmail(user);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emailService.sendEmail(user);
+            }
+        });
     }
 
     private String generateVerificationCode() {
@@ -1,6 +1,7 @@
 package com.example.userauthenticationapi.service;
 
 import com.example.userauthenticationapi.config.SendGridConfig;
+import com.example.userauthenticationapi.diagnostics.jfr.EmailDispatchEvent;
 import com.example.userauthenticationapi.model.User;
 import com.sendgrid.Method;
 import com.sendgrid.Request;
@@ -10,9 +11,13 @@ import com.sendgrid.helpers.mail.Mail;
 import com.sendgrid.helpers.mail.objects.Content;
 import com.sendgrid.helpers.mail.objects.Email;
 import com.sendgrid.helpers.mail.objects.Personalization;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -24,12 +29,22 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
+@Slf4j
+@Observed(name = "app.service")
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
     private final SendGridConfig sendGrid;
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs on the async executor, where nobody would see an exception; failures are logged and
+     * counted in {@code auth.email.failures} instead.
+     */
+    @Async
+    @Timed("auth.email.send")
     public void sendEmail(User user) {
         Email to = new Email(user.getEmail());
         String verificationCode = user.getVerificationCode();
@@ -44,18 +59,30 @@ public class EmailService {
 
         Request request = new Request();
 
+        EmailDispatchEvent dispatchEvent = new EmailDispatchEvent();
+        dispatchEvent.begin();
+
         try {
             request.setMethod(Method.POST);
             request.setEndpoint("mail/send");
             request.setBody(mail.build());
 
             Response response = sendGrid.apiKey().api(request);
+            dispatchEvent.finish("http-" + response.getStatusCode());
 
-            System.out.println("Status: " + response.getStatusCode());
-            System.out.println("Body: " + response.getBody());
-            System.out.println("Headers: " + response.getHeaders());
+            if (response.getStatusCode() / 100 != 2) {
+                failure("http-" + response.getStatusCode());
+                log.warn("SendGrid rejected verification email to {}: {} {}",
+                        user.getEmail(), response.getStatusCode(), response.getBody());
+            }
         } catch (IOException e) {
-            throw new RuntimeException("Failed to send email: " + e.getMessage());
+            dispatchEvent.finish("io-error");
+            failure("io-error");
+            log.warn("Failed to send verification email to {}", user.getEmail(), e);
         }
     }
+
+    private void failure(String reason) {
+        meterRegistry.counter("auth.email.failures", "reason", reason).increment();
+    }
 }
@@ -1,47 +1,70 @@
 package com.example.userauthenticationapi.service;
 
+import com.example.tokenverifier.SigningKeyRing;
+import com.example.tokenverifier.TokenClaims;
+import com.example.tokenverifier.TokenVerifier;
+import com.example.tokenverifier.VerifiedToken;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.security.model.UserPrincipal;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    @Value("${spring.jwt.secret-key}")
-    private String secretKey;
+    public static final String USER_ID_CLAIM = TokenClaims.USER_ID;
 
-    public String generateToken(String username) {
-        Map<String, String> claims = new HashMap<>();
+    public static final String SECURITY_EPOCH_CLAIM = TokenClaims.SECURITY_EPOCH;
+
+    private final SigningKeyRing signingKeyRing;
+
+    private final TokenVerifier tokenVerifier;
+
+    @Value("${spring.jwt.access-token-ttl:15m}")
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
+    public JwtService(SigningKeyRing signingKeyRing) {
+        this.signingKeyRing = signingKeyRing;
+        this.tokenVerifier = new TokenVerifier(signingKeyRing);
+    }
+
+    @Timed(value = "auth.jwt", extraTags = {"operation", "generate"})
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
         claims.put("issuer", "user-authentication-api");
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(SECURITY_EPOCH_CLAIM, user.getSecurityEpoch());
+
+        long now = System.currentTimeMillis();
+        SigningKeyRing.SigningKey signingKey = signingKeyRing.active();
 
         return Jwts.builder()
+                .header()
+                .keyId(signingKey.kid())
+                .and()
                 .claims()
                 .add(claims)
-                .subject(username)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(Date.from(LocalDateTime.now()
-                        .plusDays(365)
-                        .atZone(ZoneId.systemDefault())
-                        .toInstant()))
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + accessTokenTtl.toMillis()))
                 .and()
-                .signWith(getSecretKey())
+                .signWith(signingKey.signingKey(), signingKeyRing.activeAlgorithm())
                 .compact();
     }
 
-    public SecretKey getSecretKey() {
-        byte[] keyBytes = Decoders.BASE64URL.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
     }
 
     public String extractUsername(String token) {
@@ -53,18 +76,32 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    @Timed(value = "auth.jwt", extraTags = {"operation", "parse"})
     public Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return tokenVerifier.parse(token);
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date())
+                && isCurrent(claims, userDetails);
+    }
+
+    /**
+     * A token is stale once the user's security epoch moved past the one it was issued with, or when
+     * the username now belongs to a different (re-created) account.
+     */
+    private boolean isCurrent(Claims claims, UserDetails userDetails) {
+        if (!(userDetails instanceof UserPrincipal principal)) {
+            return true;
+        }
+
+        return principal.getId() != null
+                && VerifiedToken.from(claims).isCurrentFor(principal.getId(), principal.getSecurityEpoch());
     }
 
     public boolean isTokenExpired(String token) {
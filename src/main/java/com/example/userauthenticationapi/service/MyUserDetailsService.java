@@ -3,11 +3,13 @@ package com.example.userauthenticationapi.service;
 import com.example.userauthenticationapi.model.User;
 import com.example.userauthenticationapi.repo.UserRepo;
 import com.example.userauthenticationapi.security.model.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -15,7 +17,11 @@ public class MyUserDetailsService implements UserDetailsService {
 
     private final UserRepo userRepo;
 
+    // Read-write on purpose so the routing data source sends it to the primary: a replica that has
+    // not seen a password reset yet would accept a token whose epoch was just revoked.
     @Override
+    @Transactional
+    @Timed("auth.user.load")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
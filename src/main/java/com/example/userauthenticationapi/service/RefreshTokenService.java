@@ -0,0 +1,151 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.dto.response.TokenResponse;
+import com.example.userauthenticationapi.exception.UnauthorizedException;
+import com.example.userauthenticationapi.model.RefreshToken;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.repo.RefreshTokenLookup;
+import com.example.userauthenticationapi.repo.RefreshTokenRepo;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens. Only the SHA-256 of a token is stored, so a refresh costs one
+ * indexed lookup and a hash instead of a BCrypt comparison.
+ */
+@Observed(name = "app.service")
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepo refreshTokenRepo;
+
+    private final JwtService jwtService;
+
+    @Value("${spring.jwt.refresh-token.ttl:7d}")
+    private Duration refreshTokenTtl = Duration.ofDays(7);
+
+    @Value("${spring.jwt.refresh-token.family-ttl:30d}")
+    private Duration familyTtl = Duration.ofDays(30);
+
+    @Value("${spring.jwt.refresh-token.cleanup-batch-size:1000}")
+    private int cleanupBatchSize = 1000;
+
+    @Transactional
+    public TokenResponse issue(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        String refreshToken = store(user.getId(), UUID.randomUUID(), now.plus(familyTtl), now);
+
+        return tokenResponse(user, refreshToken);
+    }
+
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    @Counted(value = "auth.operations", extraTags = {"operation", "refresh"})
+    public TokenResponse rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new UnauthorizedException("Refresh token is invalid.");
+        }
+
+        RefreshTokenLookup lookup = refreshTokenRepo.findLookupByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new UnauthorizedException("Refresh token is invalid."));
+        RefreshToken current = lookup.token();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.isUsed() || refreshTokenRepo.markUsed(current.getId()) == 0) {
+            refreshTokenRepo.deleteByFamilyId(current.getFamilyId());
+            throw new UnauthorizedException("Refresh token has already been used.");
+        }
+
+        if (current.getExpiresAt().isBefore(now) || current.getFamilyExpiresAt().isBefore(now)) {
+            throw new UnauthorizedException("Refresh token has expired.");
+        }
+
+        String rotated = store(current.getUserId(), current.getFamilyId(), current.getFamilyExpiresAt(), now);
+
+        return tokenResponse(lookup.user(), rotated);
+    }
+
+    /**
+     * Ends the session the refresh token belongs to. Tokens of other users are ignored.
+     */
+    @Transactional
+    public void revoke(String refreshToken, Long userId) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+
+        refreshTokenRepo.findLookupByTokenHash(hash(refreshToken))
+                .filter(lookup -> lookup.token().getUserId().equals(userId))
+                .ifPresent(lookup -> refreshTokenRepo.deleteByFamilyId(lookup.token().getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepo.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.jwt.refresh-token.cleanup-interval-ms:600000}",
+            initialDelayString = "${spring.jwt.refresh-token.cleanup-interval-ms:600000}")
+    public void deleteExpiredFamilies() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted;
+        do {
+            deleted = refreshTokenRepo.deleteExpiredFamilies(now, cleanupBatchSize);
+        } while (deleted == cleanupBatchSize);
+    }
+
+    private String store(Long userId, UUID familyId, LocalDateTime familyExpiresAt, LocalDateTime now) {
+        byte[] bytes = new byte[32];
+        SECURE_RANDOM.nextBytes(bytes);
+        String refreshToken = ENCODER.encodeToString(bytes);
+
+        LocalDateTime expiresAt = now.plus(refreshTokenTtl);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(refreshToken));
+        token.setFamilyId(familyId);
+        token.setUserId(userId);
+        token.setExpiresAt(expiresAt.isAfter(familyExpiresAt) ? familyExpiresAt : expiresAt);
+        token.setFamilyExpiresAt(familyExpiresAt);
+
+        refreshTokenRepo.save(token);
+
+        return refreshToken;
+    }
+
+    private TokenResponse tokenResponse(User user, String refreshToken) {
+        return new TokenResponse(
+                jwtService.generateToken(user),
+                refreshToken,
+                "Bearer",
+                jwtService.getAccessTokenTtl().toSeconds()
+        );
+    }
+
+    static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ENCODER.encodeToString(digest.digest(refreshToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
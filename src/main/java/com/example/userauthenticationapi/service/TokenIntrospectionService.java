@@ -0,0 +1,126 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.dto.request.TokenIntrospectionDto;
+import com.example.userauthenticationapi.dto.response.TokenIntrospection;
+import com.example.userauthenticationapi.exception.BadRequestException;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.repo.UserRepo;
+import com.example.userauthenticationapi.security.model.UserPrincipal;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates a batch of access tokens for gateways. Every token is parsed once and checked against
+ * the in-memory deny-list; the owners of all parsed tokens are then loaded with a single query for
+ * the security-epoch check and the role.
+ */
+@Observed(name = "app.service")
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private final JwtService jwtService;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    private final UserRepo userRepo;
+
+    @Value("${spring.jwt.introspection.max-batch-size:100}")
+    private int maxBatchSize = 100;
+
+    @Value("${spring.jwt.introspection.max-cache-age:15m}")
+    private Duration maxCacheAge = Duration.ofMinutes(15);
+
+    @Transactional(readOnly = true)
+    public List<TokenIntrospection> introspect(TokenIntrospectionDto introspectionDto) {
+        List<String> tokens = introspectionDto.getTokens();
+
+        if (tokens == null || tokens.isEmpty()) {
+            throw new BadRequestException("At least one token must be provided.");
+        }
+
+        if (tokens.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " tokens can be introspected at once.");
+        }
+
+        Claims[] parsed = new Claims[tokens.size()];
+        TokenIntrospection[] results = new TokenIntrospection[tokens.size()];
+        Set<String> subjects = new HashSet<>();
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+
+            if (token == null || token.isBlank()) {
+                results[i] = TokenIntrospection.inactive("invalid");
+                continue;
+            }
+
+            try {
+                Claims claims = jwtService.extractAllClaims(token);
+
+                if (tokenRevocationList.isRevoked(claims.getId())) {
+                    results[i] = TokenIntrospection.inactive("revoked");
+                } else {
+                    parsed[i] = claims;
+                    subjects.add(claims.getSubject());
+                }
+            } catch (ExpiredJwtException e) {
+                results[i] = TokenIntrospection.inactive("expired");
+            } catch (JwtException | IllegalArgumentException e) {
+                results[i] = TokenIntrospection.inactive("invalid");
+            }
+        }
+
+        Map<String, User> owners = new HashMap<>();
+        if (!subjects.isEmpty()) {
+            userRepo.findAllByUsernameIn(subjects).forEach(user -> owners.put(user.getUsername(), user));
+        }
+
+        long cacheLimit = System.currentTimeMillis() / 1000 + maxCacheAge.toSeconds();
+        List<TokenIntrospection> response = new ArrayList<>(tokens.size());
+
+        for (int i = 0; i < tokens.size(); i++) {
+            response.add(results[i] != null ? results[i] : resolve(parsed[i], owners, cacheLimit));
+        }
+
+        return response;
+    }
+
+    private TokenIntrospection resolve(Claims claims, Map<String, User> owners, long cacheLimit) {
+        User owner = owners.get(claims.getSubject());
+
+        if (owner == null) {
+            return TokenIntrospection.inactive("invalid");
+        }
+
+        if (!jwtService.validateToken(claims, new UserPrincipal(owner))) {
+            return TokenIntrospection.inactive("revoked");
+        }
+
+        long expiresAt = claims.getExpiration().getTime() / 1000;
+
+        return new TokenIntrospection(
+                true,
+                claims.getSubject(),
+                owner.getRole().name(),
+                expiresAt,
+                Math.min(expiresAt, cacheLimit),
+                null
+        );
+    }
+}
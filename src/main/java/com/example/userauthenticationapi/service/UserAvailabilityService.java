@@ -0,0 +1,233 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.dto.response.AvailabilityResponse;
+import com.example.userauthenticationapi.exception.BadRequestException;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.repo.UserIdentity;
+import com.example.userauthenticationapi.repo.UserRepo;
+import com.example.userauthenticationapi.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Answers "is this email / username free?" from two Bloom filters over normalized keys. A negative
+ * answer is definitive and costs no query; only possible hits fall through to the database.
+ *
+ * <p>The filters are rebuilt from a streaming scan at startup and periodically, which also drops
+ * keys freed by deletes, and are updated on every write in between. Until the first rebuild
+ * completes every check goes to the database. At a 1% false-positive target a filter takes about
+ * 9.6 bits, i.e. 1.2 MB per million users; the actual size and current false-positive estimate
+ * are exported as {@code user.availability.filter.*} gauges.
+ *
+ * <p>A rebuild must not miss a key whose write is still in flight when it starts: that row is not
+ * in the scan, and the writer has only put it into the old filters. {@link #record} therefore holds
+ * a read lock until its transaction completes, and a rebuild takes the write lock to publish the
+ * filter it builds, so it scans only after every earlier writer has committed or rolled back. The
+ * scan runs on the primary, where those commits are already visible.
+ */
+@Slf4j
+@Observed(name = "app.service")
+@Service
+public class UserAvailabilityService {
+
+    private final UserRepo userRepo;
+
+    private final int expectedUsers;
+
+    private final double falsePositiveRate;
+
+    private final Counter filterNegatives;
+
+    private final Counter databaseChecks;
+
+    private volatile Filters filters;
+
+    private volatile Filters building;
+
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    public UserAvailabilityService(
+            UserRepo userRepo,
+            MeterRegistry meterRegistry,
+            @Value("${spring.user.availability.expected-users:1000000}") int expectedUsers,
+            @Value("${spring.user.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepo = userRepo;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.filterNegatives = Counter.builder("user.availability.checks")
+                .tag("answered-by", "filter")
+                .register(meterRegistry);
+        this.databaseChecks = Counter.builder("user.availability.checks")
+                .tag("answered-by", "database")
+                .register(meterRegistry);
+
+        Gauge.builder("user.availability.filter.bytes", this,
+                        service -> service.filters == null ? 0 : service.filters.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.filter.fpp", this,
+                        service -> service.filters == null ? 1 : service.filters.estimatedFalsePositiveRate())
+                .register(meterRegistry);
+    }
+
+    public AvailabilityResponse check(String email, String username) {
+        if (isBlank(email) && isBlank(username)) {
+            throw new BadRequestException("Email or username is required.");
+        }
+
+        return new AvailabilityResponse(
+                email,
+                isBlank(email) ? null : isEmailAvailable(email),
+                username,
+                isBlank(username) ? null : isUsernameAvailable(username)
+        );
+    }
+
+    public boolean isEmailAvailable(String email) {
+        Filters current = filters;
+
+        if (current != null && !current.emails.mightContain(normalize(email))) {
+            filterNegatives.increment();
+            return true;
+        }
+
+        databaseChecks.increment();
+        return !userRepo.existsByEmail(email);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        Filters current = filters;
+
+        if (current != null && !current.usernames.mightContain(normalize(username))) {
+            filterNegatives.increment();
+            return true;
+        }
+
+        databaseChecks.increment();
+        return !userRepo.existsByUsername(username);
+    }
+
+    /**
+     * Registers the user's keys. Called before commit, so a rolled-back write only leaves a false
+     * positive behind, never a false negative.
+     */
+    public void record(User user) {
+        holdUntilCompletion(rebuildLock.readLock());
+
+        // building first: once it is cleared, filters already points at the rebuilt filter.
+        Filters pending = building;
+        Filters current = filters;
+
+        record(pending, user.getEmail(), user.getUsername());
+
+        if (current != pending) {
+            record(current, user.getEmail(), user.getUsername());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${spring.user.availability.rebuild-interval-ms:21600000}",
+            initialDelayString = "${spring.user.availability.rebuild-interval-ms:21600000}")
+    @Transactional
+    public void rebuild() {
+        long started = System.nanoTime();
+        long users = userRepo.count();
+        Filters rebuilt = new Filters(
+                (int) Math.min(Integer.MAX_VALUE, Math.max(expectedUsers, users + users / 4)), falsePositiveRate);
+
+        Lock publish = rebuildLock.writeLock();
+        publish.lock();
+        try {
+            building = rebuilt;
+        } finally {
+            publish.unlock();
+        }
+
+        try (Stream<UserIdentity> identities = userRepo.streamAllIdentities()) {
+            identities.forEach(identity -> record(rebuilt, identity.getEmail(), identity.getUsername()));
+            filters = rebuilt;
+        } finally {
+            building = null;
+        }
+
+        log.info("Availability filters rebuilt from {} users in {} ms: {} KiB, estimated false-positive rate {}",
+                users, (System.nanoTime() - started) / 1_000_000, rebuilt.sizeInBytes() / 1024,
+                String.format(Locale.ROOT, "%.4f", rebuilt.estimatedFalsePositiveRate()));
+    }
+
+    /**
+     * Keeps the lock until the caller's transaction commits or rolls back; outside a transaction the
+     * write is already visible, so the lock is released straight away.
+     */
+    private static void holdUntilCompletion(Lock lock) {
+        lock.lock();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static void record(Filters target, String email, String username) {
+        if (target == null) {
+            return;
+        }
+
+        if (email != null) {
+            target.emails.put(normalize(email));
+        }
+
+        if (username != null) {
+            target.usernames.put(normalize(username));
+        }
+    }
+
+    private static boolean isBlank(String key) {
+        return key == null || key.isBlank();
+    }
+
+    private static String normalize(String key) {
+        return key.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter emails, BloomFilter usernames) {
+
+        Filters(int expectedInsertions, double falsePositiveRate) {
+            this(new BloomFilter(expectedInsertions, falsePositiveRate),
+                    new BloomFilter(expectedInsertions, falsePositiveRate));
+        }
+
+        long sizeInBytes() {
+            return emails.sizeInBytes() + usernames.sizeInBytes();
+        }
+
+        double estimatedFalsePositiveRate() {
+            return Math.max(emails.estimatedFalsePositiveRate(), usernames.estimatedFalsePositiveRate());
+        }
+    }
+}
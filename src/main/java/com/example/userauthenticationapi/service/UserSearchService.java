@@ -0,0 +1,180 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.dto.response.UserSearchHit;
+import com.example.userauthenticationapi.dto.response.UserSearchResponse;
+import com.example.userauthenticationapi.exception.BadRequestException;
+import com.example.userauthenticationapi.repo.UserSearchRepo;
+import com.example.userauthenticationapi.repo.UserSearchRow;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prefix and typo-tolerant search over username, email and full name for admins.
+ *
+ * <p>Pages are keyset-paginated: the cursor carries the sort key and id of the last row, so page N
+ * costs the same index walk as page 1 instead of an {@code OFFSET} scan. The latency budget at 10M
+ * users is p99 &le; 50 ms for prefix and &le; 150 ms for fuzzy search, read from the
+ * {@code user.search} timer; both hold only while the changelog 005 indexes exist.
+ */
+@Observed(name = "app.service")
+@Service
+@RequiredArgsConstructor
+public class UserSearchService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final UserSearchRepo userSearchRepo;
+
+    @Value("${spring.user.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${spring.user.search.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${spring.user.search.max-query-length:100}")
+    private int maxQueryLength;
+
+    public enum Field {
+        USERNAME, EMAIL, FULL_NAME
+    }
+
+    public enum Mode {
+        PREFIX, FUZZY
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = "user.search")
+    public UserSearchResponse search(String query, String field, String mode, Integer limit, String cursor) {
+        String normalized = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+
+        if (normalized.isEmpty() || normalized.length() > maxQueryLength) {
+            throw new BadRequestException("Search query must be between 1 and " + maxQueryLength + " characters.");
+        }
+
+        Field searchField = parse(Field.class, field, Field.USERNAME);
+        Mode searchMode = parse(Mode.class, mode, Mode.PREFIX);
+        int pageSize = limit == null ? defaultLimit : limit;
+
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new BadRequestException("Limit must be between 1 and " + maxLimit + ".");
+        }
+
+        if (searchMode == Mode.FUZZY && normalized.length() < 3) {
+            throw new BadRequestException("Fuzzy search needs at least 3 characters.");
+        }
+
+        // One extra row tells whether there is a next page without a count query.
+        List<UserSearchRow> rows = searchMode == Mode.PREFIX
+                ? searchPrefix(searchField, normalized, cursor, pageSize + 1)
+                : searchFuzzy(searchField, normalized, cursor, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<UserSearchRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return new UserSearchResponse(
+                page.stream()
+                        .map(row -> new UserSearchHit(row.getId(), row.getEmail(), row.getUsername(), row.getFullName()))
+                        .toList(),
+                hasMore ? encodeCursor(searchMode, page.getLast()) : null
+        );
+    }
+
+    private List<UserSearchRow> searchPrefix(Field field, String prefix, String cursor, int limit) {
+        String pattern = escapeLike(prefix) + "%";
+        // Every match sorts at or after the bare prefix, so it doubles as the first page's lower bound.
+        String afterKey = prefix;
+        long afterId = -1;
+
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            afterKey = position[0];
+            afterId = parseId(position[1]);
+        }
+
+        return switch (field) {
+            case USERNAME -> userSearchRepo.findByUsernamePrefix(pattern, afterKey, afterId, limit);
+            case EMAIL -> userSearchRepo.findByEmailPrefix(pattern, afterKey, afterId, limit);
+            case FULL_NAME -> userSearchRepo.findByFullNamePrefix(pattern, afterKey, afterId, limit);
+        };
+    }
+
+    private List<UserSearchRow> searchFuzzy(Field field, String query, String cursor, int limit) {
+        double afterDistance = -1;
+        long afterId = -1;
+
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            try {
+                afterDistance = Double.parseDouble(position[0]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+            afterId = parseId(position[1]);
+        }
+
+        return switch (field) {
+            case USERNAME -> userSearchRepo.findByUsernameSimilarity(query, afterDistance, afterId, limit);
+            case EMAIL -> userSearchRepo.findByEmailSimilarity(query, afterDistance, afterId, limit);
+            case FULL_NAME -> userSearchRepo.findByFullNameSimilarity(query, afterDistance, afterId, limit);
+        };
+    }
+
+    private static String encodeCursor(Mode mode, UserSearchRow last) {
+        String key = mode == Mode.PREFIX ? last.getMatchKey() : Double.toString(last.getDistance());
+
+        return ENCODER.encodeToString((last.getId() + ":" + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+
+            return new String[]{decoded.substring(separator + 1), decoded.substring(0, separator)};
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, E fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+
+        try {
+            String constant = value.strip().replaceAll("([a-z])([A-Z])", "$1_$2").replace('-', '_');
+
+            return Enum.valueOf(type, constant.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported search " + type.getSimpleName().toLowerCase(Locale.ROOT)
+                    + ": " + value + ".");
+        }
+    }
+}
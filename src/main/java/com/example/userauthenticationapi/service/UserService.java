@@ -1,22 +1,41 @@
 package com.example.userauthenticationapi.service;
 
 import com.example.userauthenticationapi.dto.request.*;
+import com.example.userauthenticationapi.dto.response.BatchUserResponse;
 import com.example.userauthenticationapi.dto.response.DeleteUserResponse;
 import com.example.userauthenticationapi.dto.response.UpdateUserResponse;
+import com.example.userauthenticationapi.dto.response.UserLookupResult;
 import com.example.userauthenticationapi.dto.response.UserResponse;
+import com.example.userauthenticationapi.exception.BadRequestException;
 import com.example.userauthenticationapi.exception.ConflictException;
+import com.example.userauthenticationapi.exception.PreconditionFailedException;
 import com.example.userauthenticationapi.exception.ResourceNotFoundException;
 import com.example.userauthenticationapi.model.User;
 import com.example.userauthenticationapi.model.enums.Role;
 import com.example.userauthenticationapi.repo.UserRepo;
+import com.example.userauthenticationapi.repo.UserVersion;
 import com.example.userauthenticationapi.service.mapper.UserMapper;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Observed(name = "app.service")
 @Service
 @RequiredArgsConstructor
 public class UserService {
@@ -27,15 +46,35 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final RefreshTokenService refreshTokenService;
+
+    private final UserAvailabilityService userAvailabilityService;
+
+    @Value("${spring.user.batch-lookup.max-size:100}")
+    private int maxBatchSize;
+
+    @Value("${spring.user.update.locking:OPTIMISTIC}")
+    private UpdateLocking updateLocking;
+
+    /**
+     * How the update endpoints guard their read-modify-write. {@code OPTIMISTIC} relies on the
+     * {@code @Version} check and {@code If-Match}; {@code PESSIMISTIC} takes a row lock on read and
+     * exists to compare the two under contention.
+     */
+    public enum UpdateLocking {
+        OPTIMISTIC, PESSIMISTIC
+    }
+
+    @Transactional
     public void create(RegisterUserDto registerUserDto) {
         String email = registerUserDto.getEmail();
         String username = registerUserDto.getUsername();
 
-        if (userRepo.existsByEmail(email)) {
+        if (!userAvailabilityService.isEmailAvailable(email)) {
             throw new ConflictException("Email is already registered.");
         }
 
-        if (userRepo.existsByUsername(username)) {
+        if (!userAvailabilityService.isUsernameAvailable(username)) {
             throw new ConflictException("Username already taken.");
         }
 
@@ -48,8 +87,10 @@ public class UserService {
         user.setAccountVerified(false);
 
         userRepo.save(user);
+        userAvailabilityService.record(user);
     }
 
+    @Transactional(readOnly = true)
     public UserResponse getById(Long id) {
         if (id < 0) {
             throw new ConflictException("Id can not be negative.");
@@ -61,6 +102,7 @@ public class UserService {
         return userMapper.toDto(user);
     }
 
+    @Transactional(readOnly = true)
     public UserResponse getByUsername(String username) {
         User user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -70,6 +112,7 @@ public class UserService {
         return userMapper.toDto(user);
     }
 
+    @Transactional(readOnly = true)
     public UserResponse getByEmail(String email) {
         User user = userRepo.findByEmail(email).orElseThrow(
                 () -> new ResourceNotFoundException("User with email: " + email + " not found.")
@@ -78,6 +121,30 @@ public class UserService {
         return userMapper.toDto(user);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<String> getETagById(Long id) {
+        return userRepo.findVersionById(id).map(this::toETag);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> getETagByUsername(String username) {
+        return userRepo.findVersionByUsername(username).map(this::toETag);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> getETagByEmail(String email) {
+        return userRepo.findVersionByEmail(email).map(this::toETag);
+    }
+
+    public String getETag(UserResponse user) {
+        return userMapper.toETag(user.getId(), user.getVersion());
+    }
+
+    public String getETag(UpdateUserResponse user) {
+        return userMapper.toETag(user.getId(), user.getVersion());
+    }
+
+    @Transactional(readOnly = true)
     public Long getIdByEmail(String email) {
         User user = userRepo.findByEmail(email).orElseThrow(
                 () -> new ResourceNotFoundException("User with email: " + email + " not found.")
@@ -86,6 +153,7 @@ public class UserService {
         return user.getId();
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponse> getAll() {
         List<User> userList = userRepo.findAll();
 
@@ -96,57 +164,126 @@ public class UserService {
         return userMapper.toListDto(userList);
     }
 
-    public UpdateUserResponse updateById(Long id, UpdateUserDto updateUserDto) {
+    @Transactional(readOnly = true)
+    public BatchUserResponse getBatch(UserBatchLookupDto lookupDto) {
+        List<Long> ids = orEmpty(lookupDto.getIds());
+        List<String> usernames = orEmpty(lookupDto.getUsernames());
+        List<String> emails = orEmpty(lookupDto.getEmails());
+
+        if (ids.size() + usernames.size() + emails.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " users can be looked up at once.");
+        }
+
+        if (ids.contains(null) || usernames.contains(null) || emails.contains(null)) {
+            throw new BadRequestException("Lookup keys must not be null.");
+        }
+
+        return new BatchUserResponse(
+                resolve(ids, userRepo::findAllById, User::getId),
+                resolve(usernames, userRepo::findAllByUsernameIn, User::getUsername),
+                resolve(emails, userRepo::findAllByEmailIn, User::getEmail)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public void assertAnyExist() {
+        if (!userRepo.existsByIdNotNull()) {
+            throw new ResourceNotFoundException("Users not found.");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<UserResponse> consumer) {
+        try (Stream<UserResponse> users = userRepo.streamAllResponses()) {
+            users.forEach(consumer);
+        }
+    }
+
+    @Transactional
+    public UpdateUserResponse updateById(Long id, UpdateUserDto updateUserDto, String ifMatch) {
         isUpdateFieldsValid(
                 updateUserDto.getEmail(),
                 updateUserDto.getUsername(),
                 updateUserDto.getPassword()
         );
 
-        return userRepo.findById(id).map(user -> {
+        Optional<User> found = updateLocking == UpdateLocking.PESSIMISTIC
+                ? userRepo.findWithLockById(id)
+                : userRepo.findById(id);
+
+        return found.map(user -> {
+            checkIfMatch(user, ifMatch);
             user.setEmail(updateUserDto.getEmail());
             user.setUsername(updateUserDto.getUsername());
-            user.setPassword(passwordEncoder.encode(updateUserDto.getPassword()));
-            userRepo.save(user);
+            boolean passwordChanged = changePassword(user, updateUserDto.getPassword());
+            userRepo.saveAndFlush(user);
+            userAvailabilityService.record(user);
+
+            if (passwordChanged) {
+                refreshTokenService.revokeAllForUser(user.getId());
+            }
 
             return userMapper.toUpdateDto(user);
         }).orElseThrow(() -> new ResourceNotFoundException("User with id: " + id + " not found."));
     }
 
-    public UpdateUserResponse updateByUsername(String username, UpdateUserDto updateUserDto) {
+    @Transactional
+    public UpdateUserResponse updateByUsername(String username, UpdateUserDto updateUserDto, String ifMatch) {
         isUpdateFieldsValid(
                 updateUserDto.getEmail(),
                 updateUserDto.getUsername(),
                 updateUserDto.getPassword()
         );
 
-        return userRepo.findByUsername(username).map(user -> {
+        Optional<User> found = updateLocking == UpdateLocking.PESSIMISTIC
+                ? userRepo.findWithLockByUsername(username)
+                : userRepo.findByUsername(username);
+
+        return found.map(user -> {
+            checkIfMatch(user, ifMatch);
             user.setEmail(updateUserDto.getEmail());
             user.setUsername(updateUserDto.getUsername());
-            user.setPassword(passwordEncoder.encode(updateUserDto.getPassword()));
-            userRepo.save(user);
+            boolean passwordChanged = changePassword(user, updateUserDto.getPassword());
+            userRepo.saveAndFlush(user);
+            userAvailabilityService.record(user);
+
+            if (passwordChanged) {
+                refreshTokenService.revokeAllForUser(user.getId());
+            }
 
             return userMapper.toUpdateDto(user);
         }).orElseThrow(() -> new ResourceNotFoundException("User with username: " + username + " not found."));
     }
 
-    public UpdateUserResponse updateByEmail(String email, UpdateUserDto updateUserDto) {
+    @Transactional
+    public UpdateUserResponse updateByEmail(String email, UpdateUserDto updateUserDto, String ifMatch) {
         isUpdateFieldsValid(
                 updateUserDto.getEmail(),
                 updateUserDto.getUsername(),
                 updateUserDto.getPassword()
         );
 
-        return userRepo.findByEmail(email).map(user -> {
+        Optional<User> found = updateLocking == UpdateLocking.PESSIMISTIC
+                ? userRepo.findWithLockByEmail(email)
+                : userRepo.findByEmail(email);
+
+        return found.map(user -> {
+            checkIfMatch(user, ifMatch);
             user.setFullName(updateUserDto.getEmail());
             user.setUsername(updateUserDto.getUsername());
-            user.setPassword(passwordEncoder.encode(updateUserDto.getPassword()));
-            userRepo.save(user);
+            boolean passwordChanged = changePassword(user, updateUserDto.getPassword());
+            userRepo.saveAndFlush(user);
+            userAvailabilityService.record(user);
+
+            if (passwordChanged) {
+                refreshTokenService.revokeAllForUser(user.getId());
+            }
 
             return userMapper.toUpdateDto(user);
         }).orElseThrow(() -> new ResourceNotFoundException("User with email: " + email + " not found."));
     }
 
+    @Transactional
     public UpdateUserResponse updatePasswordByEmail(UserPasswordUpdateDto userDto) {
         String email = userDto.getEmail();
         User user = userRepo.findByEmail(email).orElseThrow(
@@ -158,47 +295,122 @@ public class UserService {
         }
 
         user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        user.setSecurityEpoch(user.getSecurityEpoch() + 1);
+        userRepo.saveAndFlush(user);
+        refreshTokenService.revokeAllForUser(user.getId());
 
         return userMapper.toUpdateDto(user);
     }
 
+    @Transactional
     public DeleteUserResponse deleteById(Long id) {
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User with id: " + id + " not found."));
 
-        userRepo.deleteById(id);
+        userRepo.delete(user);
 
         return userMapper.toDeleteUserDto(user, LocalDateTime.now());
     }
 
+    @Transactional
     public DeleteUserResponse deleteByUsername(String username) {
         User user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User with username: " + username + " not found."));
 
-        userRepo.deleteByUsername(username);
+        userRepo.delete(user);
 
         return userMapper.toDeleteUserDto(user, LocalDateTime.now());
     }
 
+    @Transactional
     public DeleteUserResponse deleteByEmail(String email) {
         User user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User with email: " + email + " not found."));
 
-        userRepo.deleteByEmail(email);
+        userRepo.delete(user);
 
         return userMapper.toDeleteUserDto(user, LocalDateTime.now());
     }
 
+    @Transactional
     public void deleteAll() {
-        List<User> allUserList = userRepo.findAll();
-
-        if (allUserList.isEmpty()) {
+        if (userRepo.count() == 0) {
             throw new ResourceNotFoundException("Users not found.");
         }
 
         userRepo.deleteAllInBatch();
     }
 
+    /**
+     * Resolves all keys with one set-based query and answers in request order, duplicates included.
+     */
+    private <K> List<UserLookupResult<K>> resolve(List<K> keys,
+                                                  Function<Set<K>, List<User>> query,
+                                                  Function<User, K> keyOf) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        List<User> users = query.apply(new HashSet<>(keys));
+        Map<K, UserResponse> found = HashMap.newHashMap(users.size());
+
+        for (User user : users) {
+            found.put(keyOf.apply(user), userMapper.toDto(user));
+        }
+
+        List<UserLookupResult<K>> results = new ArrayList<>(keys.size());
+
+        for (K key : keys) {
+            UserResponse user = found.get(key);
+            results.add(new UserLookupResult<>(key, user != null, user));
+        }
+
+        return results;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    private String toETag(UserVersion version) {
+        return userMapper.toETag(version.getId(), version.getVersion());
+    }
+
+    /**
+     * Stores the new password and bumps the security epoch, so access tokens issued before the change
+     * stop verifying. Returns {@code false} when the password is unchanged; the caller then keeps the
+     * user's refresh families.
+     */
+    private boolean changePassword(User user, String rawPassword) {
+        if (user.getPassword() != null && passwordEncoder.matches(rawPassword, user.getPassword())) {
+            return false;
+        }
+
+        user.setPassword(passwordEncoder.encode(rawPassword));
+        user.setSecurityEpoch(user.getSecurityEpoch() + 1);
+        return true;
+    }
+
+    /**
+     * Rejects the update when {@code If-Match} names a version other than the one just read. A write
+     * racing in after this check is still caught by the version condition on the UPDATE itself.
+     */
+    private void checkIfMatch(User user, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return;
+        }
+
+        for (String eTag : ifMatch.split(",")) {
+            Long version = userMapper.toVersion(user.getId(), eTag.strip());
+
+            if (version != null && version.equals(user.getVersion())) {
+                return;
+            }
+        }
+
+        throw new PreconditionFailedException("User has been modified since it was read.");
+    }
+
     protected void isUpdateFieldsValid(String email, String username, String password) {
         if (email.isEmpty() || username.isEmpty() || password.isEmpty()) {
             throw new ResourceNotFoundException("Fields must be not empty.");
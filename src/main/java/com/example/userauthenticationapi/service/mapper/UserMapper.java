@@ -23,7 +23,9 @@ public class UserMapper {
           user.getId(),
           user.getEmail(),
           user.getUsername(),
-          user.getCreatedAt()
+          user.getCreatedAt(),
+          user.getUpdatedAt(),
+          user.getVersion()
         );
     }
 
@@ -32,7 +34,8 @@ public class UserMapper {
                 user.getId(),
                 user.getEmail(),
                 user.getUsername(),
-                user.getUpdatedAt()
+                user.getUpdatedAt(),
+                user.getVersion()
         );
     }
 
@@ -45,6 +48,32 @@ public class UserMapper {
         );
     }
 
+    public String toETag(Long id, Long version) {
+        if (id == null || version == null) {
+            return null;
+        }
+
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Reads the version back out of an {@link #toETag(Long, Long) ETag} issued for {@code id}, or
+     * returns {@code null} when the tag belongs to another user or was not issued by us.
+     */
+    public Long toVersion(Long id, String eTag) {
+        String prefix = "\"" + id + "-";
+
+        if (eTag == null || !eTag.startsWith(prefix) || !eTag.endsWith("\"") || eTag.length() <= prefix.length() + 1) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(eTag.substring(prefix.length(), eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     public List<UserResponse> toListDto(List<User> userList) {
         return userList.stream().map(this::toDto).toList();
     }
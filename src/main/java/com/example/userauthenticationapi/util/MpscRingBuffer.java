@@ -0,0 +1,122 @@
+package com.example.userauthenticationapi.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ *
+ * <p>Each slot carries a sequence number telling whose turn it is: producers claim a position with
+ * one CAS on the tail and publish the element by advancing the slot's sequence, the consumer frees
+ * the slot by advancing it again by one lap. {@link #offer(Object)} never blocks and fails instead
+ * when the buffer is full. {@link #poll()} and {@link #drain(Consumer, int)} must only be called
+ * from one thread at a time.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity + ".");
+        }
+
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+
+        long position = tail.get();
+
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    public E poll() {
+        long position = head.get();
+        int index = (int) position & mask;
+
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, position + capacity());
+        head.lazySet(position + 1);
+
+        return element;
+    }
+
+    /**
+     * Hands up to {@code limit} elements to {@code consumer} in FIFO order and returns how many were
+     * drained.
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int drained = 0;
+
+        while (drained < limit) {
+            E element = poll();
+
+            if (element == null) {
+                break;
+            }
+
+            consumer.accept(element);
+            drained++;
+        }
+
+        return drained;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Approximate number of queued elements; exact only when producers and consumer are idle.
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
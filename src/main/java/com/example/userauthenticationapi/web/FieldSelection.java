@@ -0,0 +1,44 @@
+package com.example.userauthenticationapi.web;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compact field selection for response DTOs: {@code ?fields=id,username} keeps only those
+ * properties of every type annotated with {@code @JsonFilter(FieldSelection.FILTER_ID)}.
+ */
+public final class FieldSelection {
+
+    public static final String FILTER_ID = "fieldSelection";
+
+    public static final String PARAMETER = "fields";
+
+    private static final FilterProvider ALL_FIELDS = new SimpleFilterProvider().setFailOnUnknownId(false);
+
+    private FieldSelection() {
+    }
+
+    public static FilterProvider allFields() {
+        return ALL_FIELDS;
+    }
+
+    public static FilterProvider of(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+
+        Set<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new SimpleFilterProvider()
+                .setFailOnUnknownId(false)
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(selected));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.userauthenticationapi.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Applies {@link FieldSelection} to JSON responses when the request carries a {@code fields} parameter.
+ * Responses without it are written untouched.
+ */
+@ControllerAdvice
+public class FieldSelectionAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+
+        String fields = servletRequest.getServletRequest().getParameter(FieldSelection.PARAMETER);
+
+        if (fields == null || fields.isBlank()) {
+            return body;
+        }
+
+        MappingJacksonValue container = body instanceof MappingJacksonValue value ? value : new MappingJacksonValue(body);
+        container.setFilters(FieldSelection.of(fields));
+
+        return container;
+    }
+}
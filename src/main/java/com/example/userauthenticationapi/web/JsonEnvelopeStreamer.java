@@ -0,0 +1,59 @@
+package com.example.userauthenticationapi.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Writes the {@link com.example.userauthenticationapi.dto.response.ApiSuccessResponse} envelope
+ * around a list whose items are serialized straight to the response as they are produced,
+ * so large lists are never materialized in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonEnvelopeStreamer {
+
+    private final ObjectMapper objectMapper;
+
+    public <T> StreamingResponseBody streamList(String message, Class<T> itemType, String fields,
+                                                Consumer<Consumer<T>> producer) {
+        ObjectWriter itemWriter = objectMapper.writerFor(itemType)
+                .with(FieldSelection.of(fields))
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        ObjectWriter timestampWriter = objectMapper.writerFor(LocalDateTime.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", message);
+                generator.writeArrayFieldStart("data");
+                producer.accept(item -> write(itemWriter, generator, item));
+                generator.writeEndArray();
+                generator.writeFieldName("timestamp");
+                timestampWriter.writeValue(generator, LocalDateTime.now());
+                generator.writeEndObject();
+            }
+        };
+    }
+
+    private static void write(ObjectWriter writer, JsonGenerator generator, Object value) {
+        try {
+            writer.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
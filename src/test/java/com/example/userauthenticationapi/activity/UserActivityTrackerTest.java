@@ -0,0 +1,120 @@
+package com.example.userauthenticationapi.activity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserActivityTrackerTest {
+
+    @Mock
+    private UserActivityWriter writer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserActivityTracker underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new UserActivityTracker(writer, meterRegistry);
+    }
+
+    @Test
+    void testShouldCoalesceUpdatesPerUserIntoOneSortedFlush() {
+        //  given
+        underTest.seen(2L);
+        underTest.seen(1L);
+        underTest.seen(2L);
+        underTest.loggedIn(1L);
+
+        //  when
+        underTest.flush();
+
+        //  then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Map.Entry<Long, UserActivity>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer).write(captor.capture());
+
+        List<Map.Entry<Long, UserActivity>> batch = captor.getValue();
+        assertThat(batch).extracting(Map.Entry::getKey).containsExactly(1L, 2L);
+        assertThat(batch.get(0).getValue().lastLoginAt()).isNotNull();
+        assertThat(batch.get(1).getValue().lastLoginAt()).isNull();
+        assertThat(underTest.pending()).isZero();
+        assertThat(meterRegistry.get("user.activity.flush.size").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void testShouldKeepActivityWhenFlushFails() {
+        //  given
+        underTest.seen(1L);
+        willThrow(new IllegalStateException("database down")).given(writer).write(anyList());
+
+        //  when
+        underTest.flush();
+
+        //  then
+        assertThat(underTest.pending()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.activity.flush.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testShouldFlushRemainingActivityOnStop() {
+        //  given
+        underTest.start();
+        underTest.loggedIn(7L);
+
+        //  when
+        underTest.stop();
+
+        //  then
+        verify(writer).write(anyList());
+        assertThat(underTest.pending()).isZero();
+        assertThat(underTest.isRunning()).isFalse();
+    }
+
+    @Test
+    void testShouldWriteThroughActivityRecordedAfterStop() {
+        //  given
+        underTest.start();
+        underTest.stop();
+
+        //  when
+        underTest.seen(8L);
+
+        //  then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Map.Entry<Long, UserActivity>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer).write(captor.capture());
+
+        assertThat(captor.getValue()).extracting(Map.Entry::getKey).containsExactly(8L);
+        assertThat(underTest.pending()).isZero();
+    }
+
+    @Test
+    void testShouldStopAfterWebServerGracefulShutdown() {
+        assertThat(underTest.getPhase()).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE);
+    }
+
+    @Test
+    void testShouldSkipFlushWhenNothingPending() {
+        //  when
+        underTest.flush();
+
+        //  then
+        verify(writer, never()).write(anyList());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.userauthenticationapi.audit;
+
+import com.example.userauthenticationapi.model.AuditEvent;
+import com.example.userauthenticationapi.model.enums.AuditEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogTest {
+
+    @Mock
+    private AuditWriter auditWriter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AuditLog underTest;
+
+    @AfterEach
+    void tearDown() {
+        underTest.stop();
+    }
+
+    @Test
+    void testShouldFlushBufferedEventsInBatchesOnStop() {
+        //  given
+        underTest = auditLog(16, AuditLog.OverflowPolicy.DROP);
+        for (int i = 0; i < 10; i++) {
+            underTest.record(AuditEventType.LOGIN_FAILED, (long) i, "jane.doe@example.org", "bad-password");
+        }
+
+        //  when
+        underTest.start();
+        underTest.stop();
+
+        //  then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditWriter, atLeastOnce()).write(captor.capture());
+
+        List<AuditEvent> written = new ArrayList<>();
+        captor.getAllValues().forEach(batch -> {
+            assertThat(batch).hasSizeLessThanOrEqualTo(4);
+            written.addAll(batch);
+        });
+        assertThat(written).extracting(AuditEvent::getUserId).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(meterRegistry.get("audit.events").tag("result", "written").counter().count()).isEqualTo(10);
+    }
+
+    @Test
+    void testShouldClipOversizedPrincipalAndDetailToColumnLength() {
+        //  given
+        underTest = auditLog(16, AuditLog.OverflowPolicy.DROP);
+        String oversizedEmail = "a".repeat(300) + "@example.org";
+
+        //  when
+        underTest.record(AuditEventType.LOGIN_FAILED, null, oversizedEmail, "x".repeat(400));
+        underTest.start();
+        underTest.stop();
+
+        //  then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditWriter).write(captor.capture());
+
+        AuditEvent written = captor.getValue().getFirst();
+        assertThat(written.getPrincipal()).hasSize(AuditLog.MAX_TEXT_LENGTH).isEqualTo(oversizedEmail.substring(0, 255));
+        assertThat(written.getDetail()).hasSize(AuditLog.MAX_TEXT_LENGTH);
+    }
+
+    @Test
+    void testShouldDropAndCountWhenBufferIsFull() {
+        //  given
+        underTest = auditLog(4, AuditLog.OverflowPolicy.DROP);
+
+        //  when
+        for (int i = 0; i < 6; i++) {
+            underTest.record(AuditEventType.LOGIN_FAILED, null, "jane.doe@example.org", "unknown-user");
+        }
+
+        //  then
+        assertThat(underTest.pending()).isEqualTo(4);
+        assertThat(meterRegistry.get("audit.events").tag("result", "dropped").counter().count()).isEqualTo(2);
+        verify(auditWriter, never()).write(anyList());
+    }
+
+    @Test
+    void testShouldWriteOnCallerThreadWhenPolicyIsCallerRuns() {
+        //  given
+        underTest = auditLog(2, AuditLog.OverflowPolicy.CALLER_RUNS);
+
+        //  when
+        for (int i = 0; i < 3; i++) {
+            underTest.record(AuditEventType.SIGN_UP, (long) i, "jane.doe@example.org", null);
+        }
+
+        //  then
+        assertThat(underTest.pending()).isEqualTo(2);
+        verify(auditWriter).write(anyList());
+        assertThat(meterRegistry.get("audit.events").tag("result", "dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void testShouldWriteThroughEventsRecordedAfterStop() {
+        //  given
+        underTest = auditLog(16, AuditLog.OverflowPolicy.DROP);
+        underTest.start();
+        underTest.stop();
+
+        //  when
+        underTest.record(AuditEventType.LOGIN_SUCCEEDED, 1L, "jane.doe@example.org", null);
+
+        //  then
+        verify(auditWriter).write(anyList());
+        assertThat(underTest.pending()).isZero();
+    }
+
+    @Test
+    void testShouldStopAfterWebServerGracefulShutdown() {
+        //  given
+        underTest = auditLog(16, AuditLog.OverflowPolicy.DROP);
+
+        //  then
+        assertThat(underTest.getPhase()).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE);
+    }
+
+    private AuditLog auditLog(int capacity, AuditLog.OverflowPolicy policy) {
+        return new AuditLog(auditWriter, meterRegistry, capacity, 4, Duration.ofMillis(10), policy, Duration.ofMillis(1));
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.userauthenticationapi.controller;
+
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.model.enums.Role;
+import com.example.userauthenticationapi.repo.UserRepo;
+import com.example.userauthenticationapi.service.EmailService;
+import com.example.userauthenticationapi.service.UserAvailabilityService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of JDBC statements each endpoint issues, so a lost transaction boundary
+ * or an accidental extra lookup shows up as a failing test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatementCountIntegrationTest {
+
+    private static final String PASSWORD = "iloveyou";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Statistics statistics;
+
+    private User givenUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAllInBatch();
+
+        givenUser = new User();
+        givenUser.setEmail("jane.doe@example.org");
+        givenUser.setUsername("janedoe");
+        givenUser.setPassword(passwordEncoder.encode(PASSWORD));
+        givenUser.setRole(Role.User);
+        givenUser.setVerificationCode("123456");
+        givenUser.setVerificationCodeExpiresAt(LocalDateTime.now().plusMinutes(5));
+        givenUser = userRepo.save(givenUser);
+        userAvailabilityService.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testCreateOfUnseenKeysIssuesOnlyTheInsert() throws Exception {
+        assertStatements(post("/api/v1/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "john.doe@example.org", "username": "johndoe", "password": "secret"}
+                        """), 1);
+    }
+
+    @Test
+    void testGetByIdIssuesOneSelect() throws Exception {
+        assertStatements(get("/api/v1/user/by-id/{id}", givenUser.getId()), 1);
+    }
+
+    @Test
+    void testConditionalGetAnswersNotModifiedFromVersionQuery() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/user/by-id/{id}", givenUser.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/user/by-id/{id}", givenUser.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        assertThat(eTag).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testGetByUsernameIssuesOneSelect() throws Exception {
+        assertStatements(get("/api/v1/user/by-username/{username}", givenUser.getUsername()), 1);
+    }
+
+    @Test
+    void testUpdateByIdIssuesOneSelectAndOneUpdate() throws Exception {
+        assertStatements(put("/api/v1/user/by-id/{id}", givenUser.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "jane.new@example.org", "username": "janenew", "password": "%s"}
+                        """.formatted(PASSWORD)), 2);
+    }
+
+    @Test
+    void testUpdateByIdWithNewPasswordBumpsEpochAndRevokesRefreshFamilies() throws Exception {
+        assertStatements(put("/api/v1/user/by-id/{id}", givenUser.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "jane.new@example.org", "username": "janenew", "password": "secret"}
+                        """), 3);
+
+        User reloaded = userRepo.findById(givenUser.getId()).orElseThrow();
+        assertThat(reloaded.getSecurityEpoch()).isEqualTo(givenUser.getSecurityEpoch() + 1);
+    }
+
+    @Test
+    void testUpdateWithCurrentIfMatchAnswersNextVersionETag() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/user/by-id/{id}", givenUser.getId()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        String updatedETag = mockMvc.perform(put("/api/v1/user/by-id/{id}", givenUser.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email": "jane.new@example.org", "username": "janenew", "password": "secret"}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        assertThat(updatedETag).isNotNull().isNotEqualTo(eTag);
+    }
+
+    @Test
+    void testUpdateWithStaleIfMatchIsRejectedBeforeUpdate() throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(put("/api/v1/user/by-id/{id}", givenUser.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + givenUser.getId() + "-" + (givenUser.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email": "jane.new@example.org", "username": "janenew", "password": "secret"}
+                                """))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testResetPasswordPersistsWithOneSelectOneUpdateAndOneRevocation() throws Exception {
+        assertStatements(put("/api/v1/user/reset-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "jane.doe@example.org", "password": "newpassword"}
+                        """), 3);
+
+        User reloaded = userRepo.findById(givenUser.getId()).orElseThrow();
+        assertThat(passwordEncoder.matches("newpassword", reloaded.getPassword())).isTrue();
+    }
+
+    @Test
+    void testDeleteByUsernameIssuesOneSelectAndOneDelete() throws Exception {
+        assertStatements(delete("/api/v1/user/by-username/{username}", givenUser.getUsername()), 2);
+    }
+
+    @Test
+    void testSignUpOfUnseenKeysIssuesOnlyTheInsert() throws Exception {
+        assertStatements(post("/api/v1/authentication/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "john.doe@example.org", "username": "johndoe", "password": "secret"}
+                        """), 1);
+    }
+
+    @Test
+    void testLoginIssuesTwoSelectsAndOneUpdate() throws Exception {
+        assertStatements(post("/api/v1/authentication/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "jane.doe@example.org", "password": "%s"}
+                        """.formatted(PASSWORD)), 3);
+    }
+
+    @Test
+    void testVerifyIssuesOneSelectOneUpdateAndOneInsert() throws Exception {
+        assertStatements(post("/api/v1/authentication/verification-code/verify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "jane.doe@example.org", "verificationCode": "123456"}
+                        """), 3);
+    }
+
+    private void assertStatements(RequestBuilder request, long expectedStatements) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedStatements);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.userauthenticationapi.datasource;
+
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.security.model.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", "sa");
+
+    private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "sa");
+
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testShouldRouteWritesToPrimary() throws SQLException {
+        //  given
+        ReadWriteRoutingDataSource underTest = routingDataSource("SELECT 0");
+
+        //  then
+        assertThat(connectedUrl(underTest)).contains("primary");
+    }
+
+    @Test
+    void testShouldRouteReadOnlyTransactionsToReplica() throws SQLException {
+        //  given
+        ReadWriteRoutingDataSource underTest = routingDataSource("SELECT 0");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //  then
+        assertThat(connectedUrl(underTest)).contains("replica");
+    }
+
+    @Test
+    void testShouldFallBackToPrimaryWhenReplicaLags() throws SQLException {
+        //  given
+        ReadWriteRoutingDataSource underTest = routingDataSource("SELECT 60");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //  then
+        assertThat(connectedUrl(underTest)).contains("primary");
+    }
+
+    @Test
+    void testShouldKeepReadsOnPrimaryAfterOwnCommittedWrite() throws SQLException {
+        //  given
+        ReadWriteRoutingDataSource underTest = routingDataSource("SELECT 0");
+        authenticate(1L);
+
+        //  when
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(connectedUrl(underTest)).contains("primary");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //  then
+        assertThat(tracker.isSticky(1L)).isTrue();
+        assertThat(connectedUrl(underTest)).contains("primary");
+    }
+
+    @Test
+    void testShouldRouteOtherUsersReadsToReplicaAfterWrite() throws SQLException {
+        //  given
+        ReadWriteRoutingDataSource underTest = routingDataSource("SELECT 0");
+        tracker.recordWrite(1L);
+        authenticate(2L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //  then
+        assertThat(connectedUrl(underTest)).contains("replica");
+    }
+
+    @Test
+    void testShouldKeepReadsOnPrimaryAfterAnonymousWriteToUser() throws SQLException {
+        //  given
+        ReadWriteRoutingDataSource underTest = routingDataSource("SELECT 0");
+        UserWriteListener listener = new UserWriteListener(
+                new StaticListableBeanFactory(Map.of("readYourWritesTracker", tracker))
+                        .getBeanProvider(ReadYourWritesTracker.class));
+
+        //  when
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(connectedUrl(underTest)).contains("primary");
+        listener.written(user(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        authenticate(1L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //  then
+        assertThat(tracker.isSticky(1L)).isTrue();
+        assertThat(connectedUrl(underTest)).contains("primary");
+    }
+
+    @Test
+    void testShouldNotMarkUserStickyWhenAnonymousWriteRollsBack() {
+        //  given
+        UserWriteListener listener = new UserWriteListener(
+                new StaticListableBeanFactory(Map.of("readYourWritesTracker", tracker))
+                        .getBeanProvider(ReadYourWritesTracker.class));
+
+        //  when
+        TransactionSynchronizationManager.initSynchronization();
+        listener.written(user(1L));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        //  then
+        assertThat(tracker.isSticky(1L)).isFalse();
+    }
+
+    private void authenticate(Long userId) {
+        UserPrincipal principal = new UserPrincipal(user(userId));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private ReadWriteRoutingDataSource routingDataSource(String lagQuery) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, Duration.ofSeconds(5));
+        monitor.refresh();
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(monitor, tracker);
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceRoute.PRIMARY, primary,
+                DataSourceRoute.REPLICA, replica
+        ));
+        routingDataSource.afterPropertiesSet();
+
+        return routingDataSource;
+    }
+
+    private String connectedUrl(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
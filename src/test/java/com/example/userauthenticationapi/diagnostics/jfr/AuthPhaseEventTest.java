@@ -0,0 +1,45 @@
+package com.example.userauthenticationapi.diagnostics.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthPhaseEventTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testShouldRecordOutcomeWhenEnabled() throws Exception {
+        //  given
+        Path file = tempDir.resolve("auth.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(UserLookupEvent.class);
+            recording.start();
+
+            //  when
+            UserLookupEvent event = new UserLookupEvent();
+            event.begin();
+            event.finish("not-found");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //  then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.example.userauthenticationapi.UserLookup"))
+                .toList();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().getString("outcome")).isEqualTo("not-found");
+    }
+}
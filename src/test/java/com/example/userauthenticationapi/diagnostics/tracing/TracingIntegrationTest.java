@@ -0,0 +1,112 @@
+package com.example.userauthenticationapi.diagnostics.tracing;
+
+import com.example.userauthenticationapi.repo.UserRepo;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class TracingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @MockitoBean
+    private SendGrid sendGrid;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAllInBatch();
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+    }
+
+    @Test
+    void testSignUpSpansShareOneTraceAcrossLayers() throws Exception {
+        //  given
+        given(sendGrid.api(any())).willReturn(new Response(202, "", Map.of()));
+
+        //  when
+        mockMvc.perform(post("/api/v1/authentication/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email": "jane.doe@example.org", "username": "janedoe", "password": "secret"}
+                                """))
+                .andExpect(status().isCreated());
+
+        //  then
+        List<SpanData> spans = awaitSpan("EmailService#sendEmail");
+        List<String> names = spans.stream().map(SpanData::getName).toList();
+
+        assertThat(names).contains(
+                "AuthenticationController#singUp",
+                "AuthenticationService#signUp",
+                "UserAvailabilityService#isEmailAvailable",
+                "UserRepo.save",
+                "EmailService#sendEmail"
+        );
+        assertThat(spans)
+                .extracting(SpanData::getTraceId)
+                .containsOnly(spans.getFirst().getTraceId());
+    }
+
+    private List<SpanData> awaitSpan(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (System.nanoTime() < deadline) {
+            tracerProvider.forceFlush().join(1, TimeUnit.SECONDS);
+            List<SpanData> spans = spanExporter.getFinishedSpanItems();
+
+            if (spans.stream().anyMatch(span -> span.getName().equals(name))) {
+                return spans;
+            }
+
+            Thread.sleep(50);
+        }
+
+        return spanExporter.getFinishedSpanItems();
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        public InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
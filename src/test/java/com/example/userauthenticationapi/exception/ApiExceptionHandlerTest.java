@@ -0,0 +1,125 @@
+package com.example.userauthenticationapi.exception;
+
+import com.example.userauthenticationapi.dto.response.ApiErrorResponse;
+import com.example.userauthenticationapi.model.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler underTest = new ApiExceptionHandler();
+
+    @AfterEach
+    void tearDown() {
+        ApiException.setStackTracesEnabled(false);
+    }
+
+    @Test
+    void testShouldMapExceptionStatus() {
+        //  when
+        ResponseEntity<ApiErrorResponse> notFound =
+                underTest.handleApiException(new ResourceNotFoundException("User not found."));
+        ResponseEntity<ApiErrorResponse> unauthorized =
+                underTest.handleApiException(new UnauthorizedException("Verification code has expired."));
+        ResponseEntity<ApiErrorResponse> validation =
+                underTest.handleApiException(new ValidationException("Password is incorrect."));
+        ResponseEntity<ApiErrorResponse> preconditionFailed =
+                underTest.handleApiException(new PreconditionFailedException("User has been modified since it was read."));
+
+        //  then
+        assertThat(notFound.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(notFound.getBody().getMessage()).isEqualTo("User not found.");
+        assertThat(notFound.getBody().isSuccess()).isFalse();
+        assertThat(unauthorized.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(validation.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(preconditionFailed.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void testShouldMapOptimisticLockFailureToConflict() {
+        //  when
+        ResponseEntity<ApiErrorResponse> response = underTest.handleOptimisticLockingFailure(
+                new ObjectOptimisticLockingFailureException(User.class, 1L));
+
+        //  then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().isSuccess()).isFalse();
+    }
+
+    @Test
+    void testShouldMapUniqueConstraintViolationToConflict() {
+        //  when
+        ResponseEntity<ApiErrorResponse> response = underTest.handleDataIntegrityViolation(
+                violation("23505", "users_email_key"));
+
+        //  then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().isSuccess()).isFalse();
+    }
+
+    @Test
+    void testShouldRethrowUniqueViolationOfOtherConstraint() {
+        //  given
+        DataIntegrityViolationException violation = violation("23505", "refresh_tokens_token_hash_key");
+
+        //  then
+        assertThatThrownBy(() -> underTest.handleDataIntegrityViolation(violation)).isSameAs(violation);
+    }
+
+    @Test
+    void testShouldRethrowNonUniqueViolation() {
+        //  given
+        DataIntegrityViolationException violation = violation("23502", "users_email_key");
+
+        //  then
+        assertThatThrownBy(() -> underTest.handleDataIntegrityViolation(violation)).isSameAs(violation);
+    }
+
+    @Test
+    void testShouldRethrowViolationWithoutConstraintDetails() {
+        //  given
+        DataIntegrityViolationException violation =
+                new DataIntegrityViolationException("duplicate key value violates unique constraint");
+
+        //  then
+        assertThatThrownBy(() -> underTest.handleDataIntegrityViolation(violation)).isSameAs(violation);
+    }
+
+    @Test
+    void testShouldSkipStackTraceByDefault() {
+        //  when
+        ApiException exception = new ConflictException("Email is already taken.");
+
+        //  then
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void testShouldCaptureStackTraceWhenEnabled() {
+        //  given
+        ApiException.setStackTracesEnabled(true);
+
+        //  when
+        ApiException exception = new ConflictException("Email is already taken.");
+
+        //  then
+        assertThat(exception.getStackTrace()).isNotEmpty();
+    }
+
+    private DataIntegrityViolationException violation(String sqlState, String constraintName) {
+        SQLException sqlException = new SQLException("constraint violated", sqlState);
+
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
+}
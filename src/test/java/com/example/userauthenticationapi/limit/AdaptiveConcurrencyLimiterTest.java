@@ -0,0 +1,120 @@
+package com.example.userauthenticationapi.limit;
+
+import com.example.userauthenticationapi.security.filter.JwtFilter;
+import com.example.userauthenticationapi.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void testShouldGrowLimitWhileLatencyIsFlat() {
+        //  given
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(20, 8, 400, 0.2, 1.5);
+
+        //  when
+        for (int i = 0; i < 100; i++) {
+            underTest.tryAcquire(RequestPriority.AUTHENTICATED);
+            underTest.release(BASELINE_RTT, underTest.getLimit());
+        }
+
+        //  then
+        assertThat(underTest.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void testShouldShrinkLimitWhenLatencyRises() {
+        //  given
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(100, 8, 400, 0.2, 1.5);
+
+        for (int i = 0; i < 50; i++) {
+            underTest.tryAcquire(RequestPriority.AUTHENTICATED);
+            underTest.release(BASELINE_RTT, 100);
+        }
+
+        int before = underTest.getLimit();
+
+        //  when
+        for (int i = 0; i < 50; i++) {
+            underTest.tryAcquire(RequestPriority.AUTHENTICATED);
+            underTest.release(BASELINE_RTT * 10, underTest.getLimit());
+        }
+
+        //  then
+        assertThat(underTest.getLimit()).isLessThan(before);
+        assertThat(underTest.getLimit()).isGreaterThanOrEqualTo(8);
+    }
+
+    @Test
+    void testShouldNotGrowWhenMostlyIdle() {
+        //  given
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(20, 8, 400, 0.2, 1.5);
+
+        //  when
+        for (int i = 0; i < 100; i++) {
+            underTest.tryAcquire(RequestPriority.AUTHENTICATED);
+            underTest.release(BASELINE_RTT, 1);
+        }
+
+        //  then
+        assertThat(underTest.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void testShouldShedLowPriorityFirst() {
+        //  given
+        AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(10, 8, 400, 0.2, 1.5);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(underTest.tryAcquire(RequestPriority.AUTHENTICATED)).isPositive();
+        }
+
+        //  then
+        assertThat(underTest.tryAcquire(RequestPriority.BULK)).isEqualTo(-1);
+        assertThat(underTest.tryAcquire(RequestPriority.ANONYMOUS)).isPositive();
+        assertThat(underTest.tryAcquire(RequestPriority.AUTHENTICATED)).isPositive();
+        assertThat(underTest.getInFlight()).isEqualTo(8);
+    }
+
+    @Test
+    void testShouldClassifyRequests() {
+        //  given
+        MockHttpServletRequest signUp = new MockHttpServletRequest("POST", "/api/v1/authentication/signup");
+        MockHttpServletRequest login = new MockHttpServletRequest("POST", "/api/v1/authentication/login");
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/user/by-username/janedoe");
+        MockHttpServletRequest session = new MockHttpServletRequest("GET", "/api/v1/authentication/check-session");
+        session.addHeader("Authorization", "Bearer token");
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/api/v1/authentication/check-session");
+        forged.addHeader("Authorization", "Bearer forged");
+
+        JwtService jwtService = mock(JwtService.class);
+        Claims claims = mock(Claims.class);
+        given(jwtService.extractAllClaims("token")).willReturn(claims);
+        given(jwtService.extractAllClaims("forged")).willThrow(new SignatureException("JWT signature does not match"));
+
+        ConcurrencyLimitFilter underTest = new ConcurrencyLimitFilter(
+                new AdaptiveConcurrencyLimiter(20, 8, 400, 0.2, 1.5), new ObjectMapper(), jwtService,
+                new SimpleMeterRegistry(), 1);
+
+        //  then
+        assertThat(underTest.classify(signUp)).isEqualTo(RequestPriority.BULK);
+        assertThat(underTest.classify(login)).isEqualTo(RequestPriority.SESSION_SETUP);
+        assertThat(underTest.classify(read)).isEqualTo(RequestPriority.ANONYMOUS);
+        assertThat(underTest.classify(session)).isEqualTo(RequestPriority.AUTHENTICATED);
+        assertThat(session.getAttribute(JwtFilter.VERIFIED_CLAIMS_ATTRIBUTE)).isSameAs(claims);
+        assertThat(underTest.classify(forged)).isEqualTo(RequestPriority.ANONYMOUS);
+        assertThat(forged.getAttribute(JwtFilter.VERIFIED_CLAIMS_ATTRIBUTE)).isNull();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.userauthenticationapi.model.enums;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoleTest {
+
+    @Test
+    void testShouldResolveRoleIgnoringCase() {
+        assertThat(Role.fromString("User")).isEqualTo(Role.User);
+        assertThat(Role.fromString("admin")).isEqualTo(Role.Admin);
+        assertThat(Role.fromString("ADMIN")).isEqualTo(Role.Admin);
+    }
+
+    @Test
+    void testWillThrowWhenRoleIsUnknown() {
+        assertThatThrownBy(() -> Role.fromString("Guest"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid role: Guest");
+        assertThatThrownBy(() -> Role.fromString(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testAdminInheritsUser() {
+        assertThat(Role.Admin.implies(Role.User)).isTrue();
+        assertThat(Role.User.implies(Role.Admin)).isFalse();
+        assertThat(Role.Admin.grants(Permission.USER_READ)).isTrue();
+        assertThat(Role.Admin.grants(Permission.AUDIT_READ)).isTrue();
+        assertThat(Role.User.grants(Permission.USER_READ)).isTrue();
+        assertThat(Role.User.grants(Permission.USER_DELETE)).isFalse();
+    }
+
+    @Test
+    void testShouldReuseAuthoritiesPerRole() {
+        //  when
+        List<GrantedAuthority> first = Role.User.getAuthorities();
+        List<GrantedAuthority> second = Role.User.getAuthorities();
+
+        //  then
+        assertThat(first).isSameAs(second);
+        assertThat(first).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "user:read");
+        assertThat(Role.Admin.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN",
+                        "user:read", "user:write", "user:delete", "user:search", "audit:read",
+                        "token:introspect");
+    }
+
+    @Test
+    void testShouldCombineHeldRoles() {
+        //  given
+        long heldRoles = (1L << Role.User.ordinal()) | (1L << Role.Admin.ordinal());
+
+        //  then
+        assertThat(Role.authoritiesFor(heldRoles)).isEqualTo(Role.Admin.getAuthorities());
+        assertThat(Role.authoritiesFor(0)).isEmpty();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.userauthenticationapi.security.authorization;
+
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.model.enums.Permission;
+import com.example.userauthenticationapi.model.enums.Role;
+import com.example.userauthenticationapi.security.model.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionAuthorizationManagerTest {
+
+    private final PermissionAuthorizationManager<Object> underTest =
+            PermissionAuthorizationManager.hasPermission(Permission.USER_DELETE);
+
+    @Test
+    void testShouldGrantWhenRoleHoldsPermission() {
+        assertThat(underTest.check(() -> authentication(Role.Admin), new Object()).isGranted()).isTrue();
+    }
+
+    @Test
+    void testShouldDenyWhenRoleLacksPermission() {
+        assertThat(underTest.check(() -> authentication(Role.User), new Object()).isGranted()).isFalse();
+    }
+
+    @Test
+    void testShouldDenyAnonymous() {
+        assertThat(underTest.check(() -> null, new Object()).isGranted()).isFalse();
+    }
+
+    private static Authentication authentication(Role role) {
+        User user = new User();
+        user.setUsername("janedoe");
+        user.setRole(role);
+        UserPrincipal principal = new UserPrincipal(user);
+
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
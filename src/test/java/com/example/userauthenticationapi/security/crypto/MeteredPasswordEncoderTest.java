@@ -0,0 +1,40 @@
+package com.example.userauthenticationapi.security.crypto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MeteredPasswordEncoder underTest =
+            new MeteredPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry);
+
+    @Test
+    void testShouldTimeEncodeAndMatchOutcomes() {
+        //  given
+        String encoded = underTest.encode("password");
+
+        //  when
+        boolean match = underTest.matches("password", encoded);
+        boolean mismatch = underTest.matches("wrong-password", encoded);
+
+        //  then
+        assertThat(match).isTrue();
+        assertThat(mismatch).isFalse();
+        assertThat(count("encode", "success")).isEqualTo(1);
+        assertThat(count("matches", "match")).isEqualTo(1);
+        assertThat(count("matches", "mismatch")).isEqualTo(1);
+    }
+
+    private long count(String operation, String outcome) {
+        return meterRegistry.get("auth.password")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
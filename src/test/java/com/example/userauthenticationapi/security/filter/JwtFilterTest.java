@@ -0,0 +1,112 @@
+package com.example.userauthenticationapi.security.filter;
+
+import com.example.userauthenticationapi.activity.UserActivityTracker;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
+import com.example.userauthenticationapi.service.JwtService;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class JwtFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private UserActivityTracker userActivityTracker;
+
+    private JwtFilter underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new JwtFilter(jwtService, applicationContext, tokenRevocationList, userActivityTracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testShouldContinueUnauthenticatedWhenTokenHasExpired() throws Exception {
+        //  given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/authentication/check-session");
+        request.addHeader("Authorization", "Bearer expired-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        given(jwtService.extractAllClaims("expired-token"))
+                .willThrow(new ExpiredJwtException(null, null, "JWT expired"));
+
+        //  when
+        underTest.doFilter(request, response, filterChain);
+
+        //  then
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(tokenRevocationList, never()).isRevoked(any());
+        verifyNoInteractions(applicationContext, userActivityTracker);
+    }
+
+    @Test
+    void testShouldLetRefreshThroughWithStaleAuthorizationHeader() throws Exception {
+        //  given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/authentication/token/refresh");
+        request.addHeader("Authorization", "Bearer expired-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        given(jwtService.extractAllClaims("expired-token"))
+                .willThrow(new ExpiredJwtException(null, null, "JWT expired"));
+
+        //  when
+        underTest.doFilter(request, response, filterChain);
+
+        //  then
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void testShouldContinueUnauthenticatedWhenTokenIsMalformed() throws Exception {
+        //  given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/authentication/check-session");
+        request.addHeader("Authorization", "Bearer not-a-jwt");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        given(jwtService.extractAllClaims("not-a-jwt")).willThrow(new MalformedJwtException("Malformed JWT"));
+
+        //  when
+        underTest.doFilter(request, response, filterChain);
+
+        //  then
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.userauthenticationapi.security.revocation;
+
+import com.example.userauthenticationapi.model.RevokedToken;
+import com.example.userauthenticationapi.repo.RevokedTokenRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepo revokedTokenRepo;
+
+    private TokenRevocationList underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TokenRevocationList(revokedTokenRepo, Duration.ofSeconds(5), 100);
+    }
+
+    @Test
+    void testShouldDenyTokenRevokedLocally() {
+        //  when
+        underTest.revoke("jti-1", 1L, new Date(System.currentTimeMillis() + 60_000));
+
+        //  then
+        verify(revokedTokenRepo).save(any(RevokedToken.class));
+        assertThat(underTest.isRevoked("jti-1")).isTrue();
+        assertThat(underTest.isRevoked("jti-2")).isFalse();
+        assertThat(underTest.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void testShouldPickUpRevocationsFromOtherNodes() {
+        //  given
+        LocalDateTime now = LocalDateTime.now();
+        given(revokedTokenRepo.findAllBySeqGreaterThanAndExpiresAtAfterOrderBySeq(anyLong(), any()))
+                .willReturn(List.of(new RevokedToken("remote", 2L, now.plusMinutes(10), now, 1L)));
+
+        //  when
+        underTest.poll();
+
+        //  then
+        assertThat(underTest.isRevoked("remote")).isTrue();
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testShouldRereadRowsCommittedBelowWatermarkWithinOverlap() {
+        //  given
+        LocalDateTime now = LocalDateTime.now();
+        given(revokedTokenRepo.findAllBySeqGreaterThanAndExpiresAtAfterOrderBySeq(anyLong(), any()))
+                .willReturn(List.of(new RevokedToken("later", 2L, now.plusMinutes(10), now, 11L)))
+                .willReturn(List.of(new RevokedToken("earlier", 3L, now.plusMinutes(10), now.minusSeconds(30), 10L)));
+
+        //  when
+        underTest.poll();
+        underTest.poll();
+
+        //  then
+        verify(revokedTokenRepo, times(2)).findAllBySeqGreaterThanAndExpiresAtAfterOrderBySeq(eq(0L), any());
+        assertThat(underTest.isRevoked("later")).isTrue();
+        assertThat(underTest.isRevoked("earlier")).isTrue();
+    }
+
+    @Test
+    void testShouldAdvanceFloorOnceOverlapHasPassed() {
+        //  given
+        underTest = new TokenRevocationList(revokedTokenRepo, Duration.ZERO, 100);
+        LocalDateTime now = LocalDateTime.now();
+        given(revokedTokenRepo.findAllBySeqGreaterThanAndExpiresAtAfterOrderBySeq(anyLong(), any()))
+                .willReturn(List.of(new RevokedToken("remote", 2L, now.plusMinutes(10), now, 7L)))
+                .willReturn(List.of());
+
+        //  when
+        underTest.poll();
+        underTest.poll();
+
+        //  then
+        verify(revokedTokenRepo).findAllBySeqGreaterThanAndExpiresAtAfterOrderBySeq(eq(7L), any());
+    }
+
+    @Test
+    void testShouldForgetRevocationsOnceTokenExpired() {
+        //  given
+        underTest.revoke("expired", 1L, new Date(System.currentTimeMillis() - 1_000));
+
+        //  when
+        underTest.poll();
+
+        //  then
+        assertThat(underTest.isRevoked("expired")).isFalse();
+        assertThat(underTest.size()).isZero();
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.userauthenticationapi.service;
 
+import com.example.userauthenticationapi.activity.UserActivityTracker;
+import com.example.userauthenticationapi.audit.AuditLog;
 import com.example.userauthenticationapi.config.SendGridConfig;
 import com.example.userauthenticationapi.dto.request.LoginUserDto;
 import com.example.userauthenticationapi.dto.request.RegisterUserDto;
 import com.example.userauthenticationapi.dto.request.ResendVerificationCodeDto;
 import com.example.userauthenticationapi.dto.request.VerifyUserDto;
+import com.example.userauthenticationapi.dto.response.TokenResponse;
 import com.example.userauthenticationapi.exception.ConflictException;
 import com.example.userauthenticationapi.exception.ValidationException;
 import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.model.enums.AuditEventType;
 import com.example.userauthenticationapi.repo.UserRepo;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Jwts;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,9 +32,12 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -51,9 +62,24 @@ class AuthenticationServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private UserAvailabilityService userAvailabilityService;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private UserActivityTracker userActivityTracker;
+
     @Mock
     private Authentication authentication;
 
@@ -90,11 +116,14 @@ class AuthenticationServiceTest {
         providers.add(new RunAsImplAuthenticationProvider());
         ProviderManager authManager = new ProviderManager(providers);
         BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        EmailService emailService = new EmailService(new SendGridConfig());
+        EmailService emailService = new EmailService(new SendGridConfig(), new SimpleMeterRegistry());
 
         AuthenticationService authenticationService =
                 new AuthenticationService(
-                        userRepo, authManager, passwordEncoder, emailService, new JwtService());
+                        userRepo, authManager, passwordEncoder, emailService,
+                        mock(RefreshTokenService.class), mock(JwtService.class), mock(TokenRevocationList.class),
+                        new UserAvailabilityService(userRepo, new SimpleMeterRegistry(), 1000, 0.01),
+                        mock(AuditLog.class), mock(UserActivityTracker.class));
 
         RegisterUserDto registerUserDto = new RegisterUserDto();
         registerUserDto.setEmail("jane.doe@example.org");
@@ -110,20 +139,20 @@ class AuthenticationServiceTest {
      * Test {@link AuthenticationService#signUp(RegisterUserDto)}.
      *
      * <ul>
-     *   <li>Given {@link UserRepo} {@link UserRepo#existsByEmail(String)} return {@code false}.
-     *   <li>Then calls {@link UserRepo#existsByUsername(String)}.
+     *   <li>Given {@link UserAvailabilityService#isEmailAvailable(String)} return {@code true}.
+     *   <li>Then calls {@link UserAvailabilityService#isUsernameAvailable(String)}.
      * </ul>
      *
      * <p>Method under test: {@link AuthenticationService#signUp(RegisterUserDto)}
      */
     @Test
     @DisplayName(
-            "Test signUp(RegisterUserDto); given UserRepo existsByEmail(String) return 'false'; then calls existsByUsername(String)")
+            "Test signUp(RegisterUserDto); given email available; then calls isUsernameAvailable(String)")
     @Tag("MaintainedByDiffblue")
-    void testSignUp_givenUserRepoExistsByEmailReturnFalse_thenCallsExistsByUsername() {
+    void testSignUp_givenEmailAvailable_thenCallsIsUsernameAvailable() {
         // Arrange
-        when(userRepo.existsByEmail(Mockito.<String>any())).thenReturn(false);
-        when(userRepo.existsByUsername(Mockito.<String>any())).thenReturn(true);
+        when(userAvailabilityService.isEmailAvailable(Mockito.<String>any())).thenReturn(true);
+        when(userAvailabilityService.isUsernameAvailable(Mockito.<String>any())).thenReturn(false);
 
         RegisterUserDto registerUserDto = new RegisterUserDto();
         registerUserDto.setEmail("jane.doe@example.org");
@@ -132,8 +161,33 @@ class AuthenticationServiceTest {
 
         // Act and Assert
         assertThrows(ConflictException.class, () -> underTest.signUp(registerUserDto));
-        verify(userRepo).existsByEmail("jane.doe@example.org");
-        verify(userRepo).existsByUsername("janedoe");
+        verify(userAvailabilityService).isEmailAvailable("jane.doe@example.org");
+        verify(userAvailabilityService).isUsernameAvailable("janedoe");
+        verify(userRepo, never()).save(any(User.class));
+    }
+
+    @Test
+    void testShouldSendSignUpEmailOnlyAfterCommit() {
+        //  given
+        RegisterUserDto givenRegisterDto = Instancio.create(RegisterUserDto.class);
+
+        given(userAvailabilityService.isEmailAvailable(givenRegisterDto.getEmail())).willReturn(true);
+        given(userAvailabilityService.isUsernameAvailable(givenRegisterDto.getUsername())).willReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            //  when
+            underTest.signUp(givenRegisterDto);
+
+            //  then
+            verify(emailService, never()).sendEmail(any(User.class));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(emailService).sendEmail(any(User.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -160,8 +214,9 @@ class AuthenticationServiceTest {
         assertTrue(testUser.getVerificationCodeExpiresAt().isAfter(LocalDateTime.now()));
 
         verify(authManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepo).save(testUser);
+        verify(userRepo).saveAndFlush(testUser);
         verify(emailService).sendEmail(testUser);
+        verify(auditLog).recordOnCommit(AuditEventType.LOGIN_SUCCEEDED, testUser.getId(), email, null);
     }
 
     @Test
@@ -178,30 +233,51 @@ class AuthenticationServiceTest {
         assertThatThrownBy(() -> underTest.authenticate(givenLoginDto))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Password is incorrect.");
+
+        verify(auditLog).record(AuditEventType.LOGIN_FAILED, testUser.getId(), email, "bad-password");
     }
 
     @Test
     void testShouldSuccessfullyVerifyUser() {
         //  given
         VerifyUserDto givenVerifyDto = Instancio.create(VerifyUserDto.class);
-        String testJwt = "test-jwt-token-value";
+        TokenResponse testTokens = new TokenResponse("test-jwt-token-value", "test-refresh-token", "Bearer", 900);
         givenVerifyDto.setVerificationCode("123456");
         testUser.setVerificationCode("123456");
         testUser.setVerificationCodeExpiresAt(LocalDateTime.now().plusMinutes(5));
 
         given(userRepo.findByEmail(givenVerifyDto.getEmail())).willReturn(Optional.of(testUser));
-        given(jwtService.generateToken(testUser.getUsername())).willReturn(testJwt);
+        given(refreshTokenService.issue(testUser)).willReturn(testTokens);
 
         //  when
-        String expected = underTest.verifyUser(givenVerifyDto);
+        TokenResponse expected = underTest.verifyUser(givenVerifyDto);
 
         //  then
         assertTrue(testUser.isAccountVerified());
         assertNull(testUser.getVerificationCode());
         assertNull(testUser.getVerificationCodeExpiresAt());
 
-        verify(userRepo).save(testUser);
-        assertEquals(testJwt, expected);
+        verify(userRepo).saveAndFlush(testUser);
+        verify(userActivityTracker).loggedIn(testUser.getId());
+        assertEquals(testTokens, expected);
+    }
+
+    @Test
+    void testShouldRevokeAccessAndRefreshTokenOnLogout() {
+        //  given
+        Claims claims = Jwts.claims()
+                .id("token-id")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .add(JwtService.USER_ID_CLAIM, 42L)
+                .build();
+        given(jwtService.extractAllClaims("access")).willReturn(claims);
+
+        //  when
+        underTest.logout("access", "refresh");
+
+        //  then
+        verify(tokenRevocationList).revoke("token-id", 42L, claims.getExpiration());
+        verify(refreshTokenService).revoke("refresh", 42L);
     }
 
     @Test
@@ -0,0 +1,161 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.dto.response.TokenResponse;
+import com.example.userauthenticationapi.exception.UnauthorizedException;
+import com.example.userauthenticationapi.model.RefreshToken;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.repo.RefreshTokenLookup;
+import com.example.userauthenticationapi.repo.RefreshTokenRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepo refreshTokenRepo;
+
+    @Mock
+    private JwtService jwtService;
+
+    @InjectMocks
+    private RefreshTokenService underTest;
+
+    private final User user = user();
+
+    @Test
+    void testShouldIssueTokenAndStoreOnlyItsHash() {
+        //  given
+        given(jwtService.generateToken(user)).willReturn("access");
+        given(jwtService.getAccessTokenTtl()).willReturn(Duration.ofMinutes(15));
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        //  when
+        TokenResponse response = underTest.issue(user);
+
+        //  then
+        verify(refreshTokenRepo).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+
+        assertThat(response.getAccessToken()).isEqualTo("access");
+        assertThat(response.getExpiresIn()).isEqualTo(900);
+        assertThat(stored.getTokenHash())
+                .isEqualTo(RefreshTokenService.hash(response.getRefreshToken()))
+                .isNotEqualTo(response.getRefreshToken());
+        assertThat(stored.getUserId()).isEqualTo(1L);
+        assertThat(stored.getExpiresAt()).isBefore(stored.getFamilyExpiresAt());
+    }
+
+    @Test
+    void testShouldRotateWithinTheSameFamily() {
+        //  given
+        RefreshToken current = token(false, LocalDateTime.now().plusDays(1));
+        given(refreshTokenRepo.findLookupByTokenHash(RefreshTokenService.hash("raw")))
+                .willReturn(Optional.of(new RefreshTokenLookup(current, user)));
+        given(refreshTokenRepo.markUsed(current.getId())).willReturn(1);
+        given(jwtService.generateToken(user)).willReturn("access");
+        given(jwtService.getAccessTokenTtl()).willReturn(Duration.ofMinutes(15));
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        //  when
+        TokenResponse response = underTest.rotate("raw");
+
+        //  then
+        verify(refreshTokenRepo).save(captor.capture());
+        assertThat(captor.getValue().getFamilyId()).isEqualTo(current.getFamilyId());
+        assertThat(captor.getValue().getFamilyExpiresAt()).isEqualTo(current.getFamilyExpiresAt());
+        assertThat(response.getRefreshToken()).isNotEqualTo("raw");
+        verify(refreshTokenRepo, never()).deleteByFamilyId(any());
+    }
+
+    @Test
+    void testShouldRevokeFamilyWhenTokenIsReused() {
+        //  given
+        RefreshToken current = token(true, LocalDateTime.now().plusDays(1));
+        given(refreshTokenRepo.findLookupByTokenHash(RefreshTokenService.hash("raw")))
+                .willReturn(Optional.of(new RefreshTokenLookup(current, user)));
+
+        //  then
+        assertThatThrownBy(() -> underTest.rotate("raw"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("already been used");
+        verify(refreshTokenRepo).deleteByFamilyId(current.getFamilyId());
+        verify(refreshTokenRepo, never()).save(any());
+    }
+
+    @Test
+    void testShouldRejectExpiredToken() {
+        //  given
+        RefreshToken current = token(false, LocalDateTime.now().minusMinutes(1));
+        given(refreshTokenRepo.findLookupByTokenHash(RefreshTokenService.hash("raw")))
+                .willReturn(Optional.of(new RefreshTokenLookup(current, user)));
+        given(refreshTokenRepo.markUsed(current.getId())).willReturn(1);
+
+        //  then
+        assertThatThrownBy(() -> underTest.rotate("raw"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("expired");
+        verify(refreshTokenRepo, never()).save(any());
+    }
+
+    @Test
+    void testShouldDeleteExpiredFamiliesInBatches() {
+        //  given
+        given(refreshTokenRepo.deleteExpiredFamilies(any(), anyInt())).willReturn(1000, 1000, 3);
+
+        //  when
+        underTest.deleteExpiredFamilies();
+
+        //  then
+        verify(refreshTokenRepo, times(3)).deleteExpiredFamilies(any(), eq(1000));
+    }
+
+    @Test
+    void testShouldRevokeFamilyOnlyForOwningUser() {
+        //  given
+        RefreshToken current = token(false, LocalDateTime.now().plusDays(1));
+        given(refreshTokenRepo.findLookupByTokenHash(RefreshTokenService.hash("raw")))
+                .willReturn(Optional.of(new RefreshTokenLookup(current, user)));
+
+        //  when
+        underTest.revoke("raw", 2L);
+        underTest.revoke("raw", 1L);
+
+        //  then
+        verify(refreshTokenRepo, times(1)).deleteByFamilyId(current.getFamilyId());
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("janedoe");
+        return user;
+    }
+
+    private RefreshToken token(boolean used, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken();
+        token.setId(7L);
+        token.setUserId(1L);
+        token.setFamilyId(UUID.randomUUID());
+        token.setUsed(used);
+        token.setExpiresAt(expiresAt);
+        token.setFamilyExpiresAt(LocalDateTime.now().plusDays(20));
+        return token;
+    }
+}
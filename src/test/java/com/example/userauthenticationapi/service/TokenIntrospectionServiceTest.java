@@ -0,0 +1,112 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.tokenverifier.SigningKeyRing;
+import com.example.userauthenticationapi.dto.request.TokenIntrospectionDto;
+import com.example.userauthenticationapi.dto.response.TokenIntrospection;
+import com.example.userauthenticationapi.exception.BadRequestException;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.model.enums.Role;
+import com.example.userauthenticationapi.repo.UserRepo;
+import com.example.userauthenticationapi.security.revocation.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private UserRepo userRepo;
+
+    private JwtService jwtService;
+
+    private TokenIntrospectionService underTest;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(new SigningKeyRing(SigningKeyRing.generate("key-1", "ES256"), List.of(), null));
+        underTest = new TokenIntrospectionService(jwtService, tokenRevocationList, userRepo);
+    }
+
+    @Test
+    void testShouldIntrospectBatchInRequestOrderWithOneUserQuery() {
+        //  given
+        User jane = user(1L, "janedoe", 0);
+        User john = user(2L, "johndoe", 3);
+        String janeToken = jwtService.generateToken(jane);
+        String staleJohnToken = jwtService.generateToken(user(2L, "johndoe", 2));
+
+        given(userRepo.findAllByUsernameIn(anyCollection())).willReturn(List.of(jane, john));
+
+        //  when
+        List<TokenIntrospection> results = underTest.introspect(dto(janeToken, "not-a-jwt", staleJohnToken, null));
+
+        //  then
+        assertThat(results).extracting(TokenIntrospection::isActive).containsExactly(true, false, false, false);
+        assertThat(results).extracting(TokenIntrospection::getReason)
+                .containsExactly(null, "invalid", "revoked", "invalid");
+        assertThat(results.getFirst().getSubject()).isEqualTo("janedoe");
+        assertThat(results.getFirst().getRole()).isEqualTo("User");
+        assertThat(results.getFirst().getCacheUntil()).isLessThanOrEqualTo(results.getFirst().getExpiresAt());
+        verify(userRepo).findAllByUsernameIn(anyCollection());
+    }
+
+    @Test
+    void testShouldSkipUserQueryWhenEveryTokenIsDenied() {
+        //  given
+        String token = jwtService.generateToken(user(1L, "janedoe", 0));
+        given(tokenRevocationList.isRevoked(any())).willReturn(true);
+
+        //  when
+        List<TokenIntrospection> results = underTest.introspect(dto(token));
+
+        //  then
+        assertThat(results).extracting(TokenIntrospection::getReason).containsExactly("revoked");
+        verify(userRepo, never()).findAllByUsernameIn(anyCollection());
+    }
+
+    @Test
+    void testWillThrowWhenBatchIsTooLarge() {
+        //  given
+        TokenIntrospectionDto givenDto = new TokenIntrospectionDto();
+        givenDto.setTokens(Collections.nCopies(101, "token"));
+
+        //  then
+        assertThatThrownBy(() -> underTest.introspect(givenDto))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("At most 100");
+    }
+
+    private TokenIntrospectionDto dto(String... tokens) {
+        TokenIntrospectionDto dto = new TokenIntrospectionDto();
+        dto.setTokens(new ArrayList<>(Arrays.asList(tokens)));
+        return dto;
+    }
+
+    private User user(Long id, String username, long securityEpoch) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(Role.User);
+        user.setSecurityEpoch(securityEpoch);
+        return user;
+    }
+}
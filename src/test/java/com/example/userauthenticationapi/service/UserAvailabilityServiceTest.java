@@ -0,0 +1,176 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.exception.BadRequestException;
+import com.example.userauthenticationapi.model.User;
+import com.example.userauthenticationapi.repo.UserIdentity;
+import com.example.userauthenticationapi.repo.UserRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserAvailabilityServiceTest {
+
+    @Mock
+    private UserRepo userRepo;
+
+    private UserAvailabilityService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new UserAvailabilityService(userRepo, new SimpleMeterRegistry(), 1000, 0.01);
+    }
+
+    @Test
+    void testShouldAskDatabaseBeforeFirstRebuild() {
+        //  given
+        given(userRepo.existsByEmail("jane.doe@example.org")).willReturn(true);
+
+        //  when
+        boolean available = underTest.isEmailAvailable("jane.doe@example.org");
+
+        //  then
+        assertThat(available).isFalse();
+    }
+
+    @Test
+    void testShouldAnswerUnseenKeysWithoutDatabase() {
+        //  given
+        givenExistingUser("jane.doe@example.org", "janedoe");
+        underTest.rebuild();
+
+        //  when
+        boolean emailAvailable = underTest.isEmailAvailable("john.doe@example.org");
+        boolean usernameAvailable = underTest.isUsernameAvailable("johndoe");
+
+        //  then
+        assertThat(emailAvailable).isTrue();
+        assertThat(usernameAvailable).isTrue();
+        verify(userRepo, never()).existsByEmail("john.doe@example.org");
+        verify(userRepo, never()).existsByUsername("johndoe");
+    }
+
+    @Test
+    void testShouldConfirmPossibleHitsAgainstDatabase() {
+        //  given
+        givenExistingUser("jane.doe@example.org", "janedoe");
+        underTest.rebuild();
+        given(userRepo.existsByEmail(" Jane.Doe@Example.org ")).willReturn(false);
+
+        //  when
+        boolean available = underTest.isEmailAvailable(" Jane.Doe@Example.org ");
+
+        //  then
+        assertThat(available).isTrue();
+        verify(userRepo).existsByEmail(" Jane.Doe@Example.org ");
+    }
+
+    @Test
+    void testShouldNotAnswerRecordedKeysFromFilter() {
+        //  given
+        givenExistingUser("jane.doe@example.org", "janedoe");
+        underTest.rebuild();
+
+        User created = new User();
+        created.setEmail("john.doe@example.org");
+        created.setUsername("johndoe");
+        given(userRepo.existsByUsername("johndoe")).willReturn(true);
+
+        //  when
+        underTest.record(created);
+
+        //  then
+        assertThat(underTest.isUsernameAvailable("johndoe")).isFalse();
+    }
+
+    @Test
+    void testShouldKeepKeysRecordedWhileRebuildScans() {
+        //  given
+        User created = new User();
+        created.setEmail("john.doe@example.org");
+        created.setUsername("johndoe");
+
+        given(userRepo.count()).willReturn(0L);
+        given(userRepo.streamAllIdentities()).willAnswer(invocation -> {
+            underTest.record(created);
+            return Stream.empty();
+        });
+        given(userRepo.existsByUsername("johndoe")).willReturn(true);
+
+        //  when
+        underTest.rebuild();
+
+        //  then
+        assertThat(underTest.isUsernameAvailable("johndoe")).isFalse();
+    }
+
+    @Test
+    void testShouldStartRebuildScanOnlyAfterInFlightWriterCompletes() throws Exception {
+        //  given
+        User created = new User();
+        created.setEmail("john.doe@example.org");
+        created.setUsername("johndoe");
+
+        given(userRepo.count()).willReturn(0L);
+        given(userRepo.streamAllIdentities()).willReturn(Stream.empty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> rebuild;
+
+        try {
+            underTest.record(created);
+
+            //  when
+            rebuild = CompletableFuture.runAsync(underTest::rebuild);
+
+            //  then
+            verify(userRepo, after(200).never()).streamAllIdentities();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        rebuild.get(5, TimeUnit.SECONDS);
+        verify(userRepo).streamAllIdentities();
+    }
+
+    @Test
+    void testWillThrowWhenNothingToCheck() {
+        assertThatThrownBy(() -> underTest.check(null, " "))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Email or username is required.");
+    }
+
+    private void givenExistingUser(String email, String username) {
+        given(userRepo.count()).willReturn(1L);
+        given(userRepo.streamAllIdentities()).willReturn(Stream.of(new UserIdentity() {
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+        }));
+    }
+}
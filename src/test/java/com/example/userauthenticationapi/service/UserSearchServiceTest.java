@@ -0,0 +1,157 @@
+package com.example.userauthenticationapi.service;
+
+import com.example.userauthenticationapi.dto.response.UserSearchHit;
+import com.example.userauthenticationapi.dto.response.UserSearchResponse;
+import com.example.userauthenticationapi.exception.BadRequestException;
+import com.example.userauthenticationapi.repo.UserSearchRepo;
+import com.example.userauthenticationapi.repo.UserSearchRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchServiceTest {
+
+    @Mock
+    private UserSearchRepo userSearchRepo;
+
+    @InjectMocks
+    private UserSearchService underTest;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "defaultLimit", 2);
+        ReflectionTestUtils.setField(underTest, "maxLimit", 100);
+        ReflectionTestUtils.setField(underTest, "maxQueryLength", 100);
+    }
+
+    @Test
+    void testShouldSearchPrefixAndReturnCursorWhenMoreRowsExist() {
+        //  given
+        given(userSearchRepo.findByUsernamePrefix("jan%", "jan", -1, 3)).willReturn(List.of(
+                row(7L, "jane"), row(3L, "janedoe"), row(9L, "janet")));
+
+        //  when
+        UserSearchResponse response = underTest.search(" Jan ", null, null, null, null);
+
+        //  then
+        assertThat(response.getUsers()).extracting(UserSearchHit::getId).containsExactly(7L, 3L);
+        assertThat(response.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void testShouldContinueFromCursorPosition() {
+        //  given
+        given(userSearchRepo.findByUsernamePrefix("jan%", "jan", -1, 3)).willReturn(List.of(
+                row(7L, "jane"), row(3L, "janedoe"), row(9L, "janet")));
+        given(userSearchRepo.findByUsernamePrefix("jan%", "janedoe", 3L, 3)).willReturn(List.of(row(9L, "janet")));
+        String cursor = underTest.search("jan", "username", "prefix", null, null).getNextCursor();
+
+        //  when
+        UserSearchResponse response = underTest.search("jan", "username", "prefix", null, cursor);
+
+        //  then
+        assertThat(response.getUsers()).extracting(UserSearchHit::getId).containsExactly(9L);
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testShouldEscapeLikeWildcards() {
+        //  given
+        given(userSearchRepo.findByEmailPrefix("a\\_b\\%%", "a_b%", -1, 3)).willReturn(List.of());
+
+        //  when
+        UserSearchResponse response = underTest.search("a_b%", "email", "prefix", null, null);
+
+        //  then
+        assertThat(response.getUsers()).isEmpty();
+    }
+
+    @Test
+    void testShouldSearchFuzzyByFullName() {
+        //  given
+        given(userSearchRepo.findByFullNameSimilarity("jane doh", -1, -1, 11)).willReturn(List.of(row(7L, "jane doe")));
+
+        //  when
+        UserSearchResponse response = underTest.search("Jane Doh", "fullName", "fuzzy", 10, null);
+
+        //  then
+        assertThat(response.getUsers()).extracting(UserSearchHit::getFullName).containsExactly("jane doe");
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testWillThrowWhenFuzzyQueryIsTooShort() {
+        assertThatThrownBy(() -> underTest.search("ja", "username", "fuzzy", null, null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("at least 3 characters");
+
+        verifyNoInteractions(userSearchRepo);
+    }
+
+    @Test
+    void testWillThrowWhenLimitIsTooLarge() {
+        assertThatThrownBy(() -> underTest.search("jane", null, null, 101, null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Limit must be between 1 and 100.");
+    }
+
+    @Test
+    void testWillThrowWhenCursorIsMalformed() {
+        assertThatThrownBy(() -> underTest.search("jane", null, null, null, "not-a-cursor"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Invalid cursor.");
+    }
+
+    @Test
+    void testWillThrowWhenFieldIsUnsupported() {
+        assertThatThrownBy(() -> underTest.search("jane", "password", null, null, null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unsupported search field");
+    }
+
+    private static UserSearchRow row(Long id, String key) {
+        return new UserSearchRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return key + "@example.org";
+            }
+
+            @Override
+            public String getUsername() {
+                return key;
+            }
+
+            @Override
+            public String getFullName() {
+                return key;
+            }
+
+            @Override
+            public String getMatchKey() {
+                return key;
+            }
+
+            @Override
+            public Double getDistance() {
+                return 0.25;
+            }
+        };
+    }
+}
@@ -2,11 +2,16 @@ package com.example.userauthenticationapi.service;
 
 import com.example.userauthenticationapi.dto.request.RegisterUserDto;
 import com.example.userauthenticationapi.dto.request.UpdateUserDto;
+import com.example.userauthenticationapi.dto.request.UserBatchLookupDto;
 import com.example.userauthenticationapi.dto.request.UserPasswordUpdateDto;
+import com.example.userauthenticationapi.dto.response.BatchUserResponse;
 import com.example.userauthenticationapi.dto.response.DeleteUserResponse;
 import com.example.userauthenticationapi.dto.response.UpdateUserResponse;
+import com.example.userauthenticationapi.dto.response.UserLookupResult;
 import com.example.userauthenticationapi.dto.response.UserResponse;
+import com.example.userauthenticationapi.exception.BadRequestException;
 import com.example.userauthenticationapi.exception.ConflictException;
+import com.example.userauthenticationapi.exception.PreconditionFailedException;
 import com.example.userauthenticationapi.exception.ResourceNotFoundException;
 import com.example.userauthenticationapi.model.User;
 import com.example.userauthenticationapi.model.enums.Role;
@@ -21,11 +26,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cglib.core.Local;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -46,6 +53,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private UserAvailabilityService userAvailabilityService;
+
     @InjectMocks
     private UserService underTest;
 
@@ -57,8 +70,8 @@ class UserServiceTest {
         String givenUsername = givenUserDto.getUsername();
         String givenPassword = givenUserDto.getPassword();
 
-        given(userRepo.existsByEmail(givenEmail)).willReturn(false);
-        given(userRepo.existsByUsername(givenUsername)).willReturn(false);
+        given(userAvailabilityService.isEmailAvailable(givenEmail)).willReturn(true);
+        given(userAvailabilityService.isUsernameAvailable(givenUsername)).willReturn(true);
         given(passwordEncoder.encode(givenPassword)).willReturn("encodedPassword");
 
         //  when
@@ -75,13 +88,15 @@ class UserServiceTest {
         assertThat(savedUser.getPassword()).isEqualTo("encodedPassword");
         assertThat(savedUser.getRole()).isEqualTo(Role.User);
         assertThat(savedUser.isAccountVerified()).isFalse();
+
+        verify(userAvailabilityService).record(savedUser);
     }
 
     @Test
     void testWillThrowWhenEmailIsTaken() {
         //  given
         RegisterUserDto givenUserDto = Instancio.create(RegisterUserDto.class);
-        given(userRepo.existsByEmail(givenUserDto.getEmail())).willReturn(true);
+        given(userAvailabilityService.isEmailAvailable(givenUserDto.getEmail())).willReturn(false);
 
         //  then
         assertThatThrownBy(() -> underTest.create(givenUserDto))
@@ -95,7 +110,8 @@ class UserServiceTest {
     void testWillThrowWhenUsernameIsTaken() {
         //  given
         RegisterUserDto givenUserDto = Instancio.create(RegisterUserDto.class);
-        given(userRepo.existsByUsername(givenUserDto.getUsername())).willReturn(true);
+        given(userAvailabilityService.isEmailAvailable(givenUserDto.getEmail())).willReturn(true);
+        given(userAvailabilityService.isUsernameAvailable(givenUserDto.getUsername())).willReturn(false);
 
         //  then
         assertThatThrownBy(() -> underTest.create(givenUserDto))
@@ -224,6 +240,93 @@ class UserServiceTest {
 
     }
 
+    @Test
+    void testShouldGetBatchInRequestOrder() {
+        //  given
+        ReflectionTestUtils.setField(underTest, "maxBatchSize", 100);
+
+        User firstUser = Instancio.create(User.class);
+        firstUser.setId(1L);
+        User secondUser = Instancio.create(User.class);
+        secondUser.setId(2L);
+        UserResponse firstDto = Instancio.create(UserResponse.class);
+        UserResponse secondDto = Instancio.create(UserResponse.class);
+
+        UserBatchLookupDto givenLookupDto = new UserBatchLookupDto();
+        givenLookupDto.setIds(List.of(2L, 3L, 1L, 2L));
+
+        given(userRepo.findAllById(Set.of(1L, 2L, 3L))).willReturn(List.of(firstUser, secondUser));
+        given(userMapper.toDto(firstUser)).willReturn(firstDto);
+        given(userMapper.toDto(secondUser)).willReturn(secondDto);
+
+        //  when
+        BatchUserResponse expected = underTest.getBatch(givenLookupDto);
+
+        //  then
+        verify(userRepo).findAllById(Set.of(1L, 2L, 3L));
+        verify(userRepo, never()).findAllByUsernameIn(any());
+        verify(userRepo, never()).findAllByEmailIn(any());
+
+        List<UserLookupResult<Long>> results = expected.getIds();
+
+        assertEquals(List.of(
+                new UserLookupResult<>(2L, true, secondDto),
+                new UserLookupResult<>(3L, false, null),
+                new UserLookupResult<>(1L, true, firstDto),
+                new UserLookupResult<>(2L, true, secondDto)
+        ), results);
+        assertTrue(expected.getUsernames().isEmpty());
+        assertTrue(expected.getEmails().isEmpty());
+    }
+
+    @Test
+    void testShouldGetBatchByUsernamesAndEmails() {
+        //  given
+        ReflectionTestUtils.setField(underTest, "maxBatchSize", 100);
+
+        User givenUser = Instancio.create(User.class);
+        UserResponse givenDto = Instancio.create(UserResponse.class);
+
+        UserBatchLookupDto givenLookupDto = new UserBatchLookupDto();
+        givenLookupDto.setUsernames(List.of("missing", givenUser.getUsername()));
+        givenLookupDto.setEmails(List.of(givenUser.getEmail()));
+
+        given(userRepo.findAllByUsernameIn(Set.of("missing", givenUser.getUsername())))
+                .willReturn(List.of(givenUser));
+        given(userRepo.findAllByEmailIn(Set.of(givenUser.getEmail()))).willReturn(List.of(givenUser));
+        given(userMapper.toDto(givenUser)).willReturn(givenDto);
+
+        //  when
+        BatchUserResponse expected = underTest.getBatch(givenLookupDto);
+
+        //  then
+        assertEquals(List.of(
+                new UserLookupResult<>("missing", false, null),
+                new UserLookupResult<>(givenUser.getUsername(), true, givenDto)
+        ), expected.getUsernames());
+        assertEquals(List.of(
+                new UserLookupResult<>(givenUser.getEmail(), true, givenDto)
+        ), expected.getEmails());
+        assertTrue(expected.getIds().isEmpty());
+    }
+
+    @Test
+    void testWillThrowWhenBatchIsTooLarge() {
+        //  given
+        ReflectionTestUtils.setField(underTest, "maxBatchSize", 2);
+
+        UserBatchLookupDto givenLookupDto = new UserBatchLookupDto();
+        givenLookupDto.setIds(List.of(1L, 2L));
+        givenLookupDto.setEmails(List.of("test@gmail.com"));
+
+        //  then
+        assertThatThrownBy(() -> underTest.getBatch(givenLookupDto))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("At most 2 users");
+
+        verifyNoInteractions(userRepo);
+    }
+
     @Test
     void testUpdateFieldsAreNotEmpty() {
         //  given
@@ -267,13 +370,127 @@ class UserServiceTest {
         given(userMapper.toUpdateDto(givenUser)).willReturn(response);
 
         //  when
-        UpdateUserResponse expected = underTest.updateById(id, givenUpdateUserDto);
+        UpdateUserResponse expected = underTest.updateById(id, givenUpdateUserDto, null);
+
+        //  then
+        verify(userRepo).saveAndFlush(givenUser);
+        verify(userAvailabilityService).record(givenUser);
+        assertEquals(response, expected);
+    }
+
+    @Test
+    void testShouldBumpEpochAndRevokeRefreshFamiliesWhenUpdateChangesPassword() {
+        //  given
+        long id = 10;
+        User givenUser = Instancio.create(User.class);
+        givenUser.setId(id);
+        long givenEpoch = givenUser.getSecurityEpoch();
+        UpdateUserDto givenUpdateUserDto = Instancio.create(UpdateUserDto.class);
+
+        given(userRepo.findByUsername(givenUser.getUsername())).willReturn(Optional.of(givenUser));
+        given(passwordEncoder.matches(givenUpdateUserDto.getPassword(), givenUser.getPassword())).willReturn(false);
+        given(passwordEncoder.encode(givenUpdateUserDto.getPassword())).willReturn("encodedPassword");
+
+        //  when
+        underTest.updateByUsername(givenUser.getUsername(), givenUpdateUserDto, null);
+
+        //  then
+        assertEquals("encodedPassword", givenUser.getPassword());
+        assertEquals(givenEpoch + 1, givenUser.getSecurityEpoch());
+        verify(refreshTokenService).revokeAllForUser(id);
+    }
+
+    @Test
+    void testShouldKeepEpochAndRefreshFamiliesWhenUpdateKeepsPassword() {
+        //  given
+        long id = 10;
+        User givenUser = Instancio.create(User.class);
+        givenUser.setId(id);
+        long givenEpoch = givenUser.getSecurityEpoch();
+        String givenPassword = givenUser.getPassword();
+        UpdateUserDto givenUpdateUserDto = Instancio.create(UpdateUserDto.class);
+
+        given(userRepo.findById(id)).willReturn(Optional.of(givenUser));
+        given(passwordEncoder.matches(givenUpdateUserDto.getPassword(), givenPassword)).willReturn(true);
+
+        //  when
+        underTest.updateById(id, givenUpdateUserDto, null);
+
+        //  then
+        assertEquals(givenPassword, givenUser.getPassword());
+        assertEquals(givenEpoch, givenUser.getSecurityEpoch());
+        verify(passwordEncoder, never()).encode(any());
+        verify(refreshTokenService, never()).revokeAllForUser(any());
+    }
+
+    @Test
+    void testShouldUpdateByIdWhenIfMatchNamesCurrentVersion() {
+        //  given
+        long id = 10;
+        User givenUser = Instancio.create(User.class);
+        givenUser.setId(id);
+        givenUser.setVersion(3L);
+        UpdateUserDto givenUpdateUserDto = Instancio.create(UpdateUserDto.class);
+
+        UpdateUserResponse response = new UpdateUserResponse();
+
+        given(userRepo.findById(id)).willReturn(Optional.of(givenUser));
+        given(userMapper.toVersion(id, "\"10-2\"")).willReturn(2L);
+        given(userMapper.toVersion(id, "\"10-3\"")).willReturn(3L);
+        given(passwordEncoder.encode(givenUpdateUserDto.getPassword())).willReturn("encodedPassword");
+        given(userMapper.toUpdateDto(givenUser)).willReturn(response);
+
+        //  when
+        UpdateUserResponse expected = underTest.updateById(id, givenUpdateUserDto, "\"10-2\", \"10-3\"");
 
         //  then
-        verify(userRepo).save(givenUser);
+        verify(userRepo).saveAndFlush(givenUser);
         assertEquals(response, expected);
     }
 
+    @Test
+    void testShouldThrowPreconditionFailedWhenIfMatchIsStale() {
+        //  given
+        long id = 10;
+        User givenUser = Instancio.create(User.class);
+        givenUser.setId(id);
+        givenUser.setVersion(3L);
+        UpdateUserDto givenUpdateUserDto = Instancio.create(UpdateUserDto.class);
+
+        given(userRepo.findById(id)).willReturn(Optional.of(givenUser));
+        given(userMapper.toVersion(id, "\"10-2\"")).willReturn(2L);
+
+        //  when
+        //  then
+        assertThatThrownBy(() -> underTest.updateById(id, givenUpdateUserDto, "\"10-2\""))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage("User has been modified since it was read.");
+
+        verify(userRepo, never()).saveAndFlush(any());
+        verify(userAvailabilityService, never()).record(any());
+    }
+
+    @Test
+    void testShouldLockRowOnUpdateWhenPessimisticLockingIsConfigured() {
+        //  given
+        long id = 10;
+        User givenUser = Instancio.create(User.class);
+        givenUser.setId(id);
+        UpdateUserDto givenUpdateUserDto = Instancio.create(UpdateUserDto.class);
+
+        ReflectionTestUtils.setField(underTest, "updateLocking", UserService.UpdateLocking.PESSIMISTIC);
+
+        given(userRepo.findWithLockById(id)).willReturn(Optional.of(givenUser));
+        given(passwordEncoder.encode(givenUpdateUserDto.getPassword())).willReturn("encodedPassword");
+
+        //  when
+        underTest.updateById(id, givenUpdateUserDto, null);
+
+        //  then
+        verify(userRepo, never()).findById(id);
+        verify(userRepo).saveAndFlush(givenUser);
+    }
+
     @Test
     void testShouldUpdateByUsername() {
         //  given
@@ -289,10 +506,10 @@ class UserServiceTest {
         given(userMapper.toUpdateDto(givenUser)).willReturn(response);
 
         //  when
-        UpdateUserResponse expected = underTest.updateByUsername(username, givenUpdateUserDto);
+        UpdateUserResponse expected = underTest.updateByUsername(username, givenUpdateUserDto, null);
 
         //  then
-        verify(userRepo).save(givenUser);
+        verify(userRepo).saveAndFlush(givenUser);
         assertEquals(response, expected);
     }
 
@@ -311,10 +528,10 @@ class UserServiceTest {
         given(userMapper.toUpdateDto(givenUser)).willReturn(response);
 
         //  when
-        UpdateUserResponse expected = underTest.updateByEmail(email, givenUpdateUserDto);
+        UpdateUserResponse expected = underTest.updateByEmail(email, givenUpdateUserDto, null);
 
         //  then
-        verify(userRepo).save(givenUser);
+        verify(userRepo).saveAndFlush(givenUser);
         assertEquals(response, expected);
     }
 
@@ -324,6 +541,7 @@ class UserServiceTest {
         User givenUser = Instancio.create(User.class);
         UserPasswordUpdateDto givenUpdateDto = Instancio.create(UserPasswordUpdateDto.class);
         UpdateUserResponse response = new UpdateUserResponse();
+        long givenEpoch = givenUser.getSecurityEpoch();
 
         given(userRepo.findByEmail(givenUpdateDto.getEmail())).willReturn(Optional.of(givenUser));
         given(passwordEncoder.encode(givenUpdateDto.getPassword())).willReturn("encodedPassword");
@@ -334,6 +552,10 @@ class UserServiceTest {
 
         //  then
         verify(userRepo).findByEmail(givenUpdateDto.getEmail());
+        verify(userRepo).saveAndFlush(givenUser);
+        assertEquals("encodedPassword", givenUser.getPassword());
+        assertEquals(givenEpoch + 1, givenUser.getSecurityEpoch());
+        verify(refreshTokenService).revokeAllForUser(givenUser.getId());
         assertEquals(response, expected);
     }
 
@@ -369,7 +591,7 @@ class UserServiceTest {
         DeleteUserResponse expected = underTest.deleteById(id);
 
         //  then
-        verify(userRepo).deleteById(id);
+        verify(userRepo).delete(givenUser);
         assertEquals(response, expected);
     }
 
@@ -388,7 +610,7 @@ class UserServiceTest {
         DeleteUserResponse expected = underTest.deleteByUsername(username);
 
         //  then
-        verify(userRepo).deleteByUsername(username);
+        verify(userRepo).delete(givenUser);
         assertEquals(response, expected);
     }
 
@@ -407,16 +629,14 @@ class UserServiceTest {
         DeleteUserResponse expected = underTest.deleteByEmail(email);
 
         //  then
-        verify(userRepo).deleteByEmail(email);
+        verify(userRepo).delete(givenUser);
         assertEquals(response, expected);
     }
 
     @Test
     void testShouldDeleteAll() {
         //  given
-        List<User> givenUserList = Instancio.ofList(User.class).size(5).create();
-
-        given(userRepo.findAll()).willReturn(givenUserList);
+        given(userRepo.count()).willReturn(5L);
 
         //  when
         underTest.deleteAll();
@@ -428,7 +648,7 @@ class UserServiceTest {
     @Test
     void testWillThrowWhenDeleteAllFails() {
         //  given
-        given(userRepo.findAll()).willReturn(new ArrayList<>());
+        given(userRepo.count()).willReturn(0L);
 
         //  then
         assertThatThrownBy(() -> underTest.deleteAll())
@@ -40,6 +40,38 @@ class UserMapperTest {
         assertEquals(givenUser.getEmail(), expected.getEmail());
         assertEquals(givenUser.getUsername(), expected.getUsername());
         assertEquals(givenUser.getCreatedAt(), expected.getCreatedAt());
+        assertEquals(givenUser.getUpdatedAt(), expected.getUpdatedAt());
+        assertEquals(givenUser.getVersion(), expected.getVersion());
+    }
+
+    @Test
+    void testShouldReturnStableETagForSameVersion() {
+        //  when
+        String expected = underTest.toETag(10L, 3L);
+
+        //  then
+        assertEquals("\"10-3\"", expected);
+        assertEquals(expected, underTest.toETag(10L, 3L));
+        assertNotEquals(expected, underTest.toETag(10L, 4L));
+    }
+
+    @Test
+    void testShouldReturnNoETagWithoutVersion() {
+        assertNull(underTest.toETag(10L, null));
+    }
+
+    @Test
+    void testShouldReadVersionBackFromETag() {
+        assertEquals(3L, underTest.toVersion(10L, underTest.toETag(10L, 3L)));
+    }
+
+    @Test
+    void testShouldReturnNoVersionForForeignOrMalformedETag() {
+        assertNull(underTest.toVersion(10L, underTest.toETag(11L, 3L)));
+        assertNull(underTest.toVersion(10L, "\"10-\""));
+        assertNull(underTest.toVersion(10L, "\"10-abc\""));
+        assertNull(underTest.toVersion(10L, "W/\"10-3\""));
+        assertNull(underTest.toVersion(10L, null));
     }
 
     @Test
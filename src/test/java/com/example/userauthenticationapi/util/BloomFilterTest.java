@@ -0,0 +1,46 @@
+package com.example.userauthenticationapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void testShouldHaveNoFalseNegatives() {
+        //  given
+        BloomFilter underTest = new BloomFilter(10_000, 0.01);
+
+        //  when
+        for (int i = 0; i < 10_000; i++) {
+            underTest.put("token-" + i);
+        }
+
+        //  then
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(underTest.mightContain("token-" + i)).isTrue();
+            if (underTest.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void testShouldEstimateFalsePositiveRateFromFill() {
+        //  given
+        BloomFilter underTest = new BloomFilter(1_000_000, 0.01);
+
+        //  when
+        double empty = underTest.estimatedFalsePositiveRate();
+        for (int i = 0; i < 100_000; i++) {
+            underTest.put("user-" + i);
+        }
+
+        //  then
+        assertThat(empty).isZero();
+        assertThat(underTest.estimatedFalsePositiveRate()).isGreaterThan(0).isLessThan(0.01);
+        assertThat(underTest.sizeInBytes()).isBetween(1_100_000L, 1_300_000L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.userauthenticationapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MpscRingBufferTest {
+
+    @Test
+    void testShouldRejectOfferWhenFull() {
+        //  given
+        MpscRingBuffer<Integer> underTest = new MpscRingBuffer<>(4);
+
+        //  when
+        for (int i = 0; i < 4; i++) {
+            assertThat(underTest.offer(i)).isTrue();
+        }
+
+        //  then
+        assertThat(underTest.offer(4)).isFalse();
+        assertThat(underTest.size()).isEqualTo(4);
+        assertThat(underTest.poll()).isZero();
+        assertThat(underTest.offer(4)).isTrue();
+    }
+
+    @Test
+    void testShouldDrainInFifoOrderUpToLimit() {
+        //  given
+        MpscRingBuffer<Integer> underTest = new MpscRingBuffer<>(8);
+        for (int i = 0; i < 6; i++) {
+            underTest.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        //  when
+        int count = underTest.drain(drained::add, 4);
+
+        //  then
+        assertThat(count).isEqualTo(4);
+        assertThat(drained).containsExactly(0, 1, 2, 3);
+        assertThat(underTest.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testShouldDeliverEveryElementFromConcurrentProducers() throws InterruptedException {
+        //  given
+        MpscRingBuffer<Integer> underTest = new MpscRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!underTest.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        //  when
+        Set<Integer> received = new HashSet<>();
+        start.countDown();
+        while (received.size() < producers * perProducer) {
+            Integer element = underTest.poll();
+            if (element != null) {
+                assertThat(received.add(element)).isTrue();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //  then
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(underTest.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testWillThrowWhenCapacityIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new MpscRingBuffer<>(100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.tokenverifier;
+
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full local verification as a consuming service runs it: signature, expiry, deny-list and epoch
+ * check, against a ring rebuilt from the issuer's JWKS key material.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenVerifierBenchmark {
+
+    @Param({"ES256", "EdDSA"})
+    private String algorithm;
+
+    private TokenVerifier verifier;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SigningKeyRing.SigningKey key = SigningKeyRing.generate("bench", algorithm);
+        SigningKeyRing ring = new SigningKeyRing(
+                null, List.of(new SigningKeyRing.SigningKey(key.kid(), algorithm, null, key.verificationKey())), null);
+
+        verifier = new TokenVerifier(ring, tokenId -> false, userId -> OptionalLong.of(0L));
+        token = Jwts.builder()
+                .header().keyId(key.kid()).and()
+                .id("bench-token")
+                .subject("janedoe")
+                .claim(TokenClaims.USER_ID, 1L)
+                .claim(TokenClaims.SECURITY_EPOCH, 0L)
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key.signingKey())
+                .compact();
+    }
+
+    @Benchmark
+    public Verification verify() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public Object parseOnly() {
+        return verifier.parse(token);
+    }
+}
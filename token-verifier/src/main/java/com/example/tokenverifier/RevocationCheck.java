@@ -0,0 +1,13 @@
+package com.example.tokenverifier;
+
+/**
+ * Answers whether an individual token id has been revoked. Implementations sit on the request
+ * path and must not block.
+ */
+@FunctionalInterface
+public interface RevocationCheck {
+
+    RevocationCheck NONE = tokenId -> false;
+
+    boolean isRevoked(String tokenId);
+}
@@ -0,0 +1,13 @@
+package com.example.tokenverifier;
+
+import java.util.OptionalLong;
+
+/**
+ * Current security epoch per user id, or empty when the user is unknown. Optional: services that
+ * cannot see epochs verify without one and rely on the short access token lifetime instead.
+ */
+@FunctionalInterface
+public interface SecurityEpochSource {
+
+    OptionalLong currentEpoch(long userId);
+}
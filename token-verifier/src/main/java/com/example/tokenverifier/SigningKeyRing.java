@@ -0,0 +1,189 @@
+package com.example.tokenverifier;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keys used to sign and verify access tokens. At most one key signs; every key in the ring, keyed
+ * by {@code kid}, verifies, so a retired key keeps validating tokens until they expire. The issuer
+ * publishes the public keys through {@link #jwks()}; other services rebuild a verification-only
+ * ring from that document with {@link #fromJwks(String)}.
+ *
+ * <p>Tokens without a {@code kid} header predate the ring and are verified with the legacy HMAC
+ * secret, when one is configured.
+ */
+public final class SigningKeyRing extends LocatorAdapter<Key> {
+
+    public record SigningKey(String kid, String algorithm, Key signingKey, Key verificationKey) {
+    }
+
+    private final SigningKey active;
+
+    private final SecureDigestAlgorithm<Key, Key> activeAlgorithm;
+
+    private final Map<String, Key> verificationKeys = new LinkedHashMap<>();
+
+    private final Key legacyKey;
+
+    private final Map<String, Object> jwks;
+
+    private final String jwksETag;
+
+    public SigningKeyRing(SigningKey active, List<SigningKey> retired, Key legacyKey) {
+        this.active = active;
+        this.activeAlgorithm = active == null ? null : algorithm(active.algorithm());
+        this.legacyKey = legacyKey;
+
+        List<Map<String, Object>> publicKeys = new ArrayList<>();
+        List<SigningKey> all = new ArrayList<>();
+        if (active != null) {
+            all.add(active);
+        }
+        all.addAll(retired);
+
+        for (SigningKey key : all) {
+            verificationKeys.put(key.kid(), key.verificationKey());
+
+            if (key.verificationKey() instanceof PublicKey publicKey) {
+                publicKeys.add(new LinkedHashMap<>(Jwks.builder()
+                        .key(publicKey)
+                        .id(key.kid())
+                        .algorithm(key.algorithm())
+                        .publicKeyUse("sig")
+                        .build()));
+            }
+        }
+
+        this.jwks = Map.of("keys", List.copyOf(publicKeys));
+        this.jwksETag = eTag(publicKeys.toString());
+    }
+
+    public static SigningKeyRing hmac(String base64UrlSecret) {
+        SecretKey secret = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(base64UrlSecret));
+        // hmacShaKeyFor picks the strongest HmacSHA* the key length allows, e.g. HmacSHA384 -> HS384.
+        String algorithm = "HS" + secret.getAlgorithm().substring("HmacSHA".length());
+
+        return new SigningKeyRing(new SigningKey("hmac", algorithm, secret, secret), List.of(), secret);
+    }
+
+    /**
+     * Creates a throw-away key pair. Tokens it signs cannot be verified by other instances or after
+     * a restart, so it is only meant for development and tests.
+     */
+    public static SigningKey generate(String kid, String algorithm) {
+        KeyPair keyPair = switch (algorithm) {
+            case "ES256" -> Jwts.SIG.ES256.keyPair().build();
+            case "EdDSA" -> Jwts.SIG.EdDSA.keyPair().build();
+            default -> throw new IllegalArgumentException("Unsupported signing algorithm: " + algorithm);
+        };
+
+        return new SigningKey(kid, algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    /**
+     * Builds a verification-only ring from a JWKS document, e.g. the issuer's
+     * {@code /.well-known/jwks.json}. Keys without a {@code kid} are skipped.
+     */
+    public static SigningKeyRing fromJwks(String json) {
+        JwkSet jwkSet = Jwks.setParser().build().parse(json);
+        List<SigningKey> keys = new ArrayList<>();
+
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            if (jwk.getId() != null) {
+                Key key = jwk.toKey();
+                String algorithm = jwk.getAlgorithm() != null ? jwk.getAlgorithm()
+                        : key instanceof ECKey ? "ES256" : "EdDSA";
+                keys.add(new SigningKey(jwk.getId(), algorithm, null, key));
+            }
+        }
+
+        return new SigningKeyRing(null, keys, null);
+    }
+
+    public static SigningKey load(String kid, String algorithm, String base64PrivateKey, String base64PublicKey) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+            PrivateKey privateKey = base64PrivateKey == null || base64PrivateKey.isBlank() ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64PrivateKey)));
+            PublicKey publicKey =
+                    keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64PublicKey)));
+
+            return new SigningKey(kid, algorithm, privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Signing key " + kid + " could not be loaded.", e);
+        }
+    }
+
+    /**
+     * The signing key, or {@code null} for a verification-only ring.
+     */
+    public SigningKey active() {
+        return active;
+    }
+
+    public SecureDigestAlgorithm<Key, Key> activeAlgorithm() {
+        return activeAlgorithm;
+    }
+
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    public String jwksETag() {
+        return jwksETag;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+
+        return kid == null ? legacyKey : verificationKeys.get(kid);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SecureDigestAlgorithm<Key, Key> algorithm(String id) {
+        return (SecureDigestAlgorithm<Key, Key>) Jwts.SIG.get().forKey(id);
+    }
+
+    private static String keyFactoryAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case "ES256" -> "EC";
+            case "EdDSA" -> "Ed25519";
+            default -> throw new IllegalArgumentException("Unsupported signing algorithm: " + algorithm);
+        };
+    }
+
+    private static String eTag(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16) + "\"";
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.tokenverifier;
+
+/**
+ * Private claims carried by access tokens, in addition to the registered {@code sub}, {@code jti},
+ * {@code iat} and {@code exp}.
+ */
+public final class TokenClaims {
+
+    public static final String USER_ID = "uid";
+
+    public static final String SECURITY_EPOCH = "sep";
+
+    private TokenClaims() {
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.tokenverifier;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+
+import java.security.Key;
+import java.util.OptionalLong;
+
+/**
+ * Verifies access tokens locally. The parser is built once and each token is parsed exactly once;
+ * revocation and security-epoch checks run on the parsed claims.
+ */
+public final class TokenVerifier {
+
+    private final JwtParser parser;
+
+    private final RevocationCheck revocationCheck;
+
+    private final SecurityEpochSource securityEpochSource;
+
+    public TokenVerifier(Locator<Key> keyLocator) {
+        this(keyLocator, RevocationCheck.NONE, null);
+    }
+
+    public TokenVerifier(Locator<Key> keyLocator, RevocationCheck revocationCheck,
+                         SecurityEpochSource securityEpochSource) {
+        this.parser = Jwts.parser()
+                .keyLocator(keyLocator)
+                .build();
+        this.revocationCheck = revocationCheck;
+        this.securityEpochSource = securityEpochSource;
+    }
+
+    /**
+     * Checks signature and expiry only.
+     *
+     * @throws JwtException when the token is malformed, expired or not signed by a known key
+     */
+    public Claims parse(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public Verification verify(String token) {
+        if (token == null || token.isBlank()) {
+            return new Verification(Verification.Status.INVALID, null);
+        }
+
+        VerifiedToken verified;
+        try {
+            verified = VerifiedToken.from(parse(token));
+        } catch (ExpiredJwtException e) {
+            return new Verification(Verification.Status.EXPIRED, null);
+        } catch (JwtException | IllegalArgumentException e) {
+            return new Verification(Verification.Status.INVALID, null);
+        }
+
+        if (revocationCheck.isRevoked(verified.tokenId()) || !isCurrent(verified)) {
+            return new Verification(Verification.Status.REVOKED, verified);
+        }
+
+        return new Verification(Verification.Status.ACTIVE, verified);
+    }
+
+    private boolean isCurrent(VerifiedToken token) {
+        if (securityEpochSource == null) {
+            return true;
+        }
+
+        if (token.userId() == null) {
+            return false;
+        }
+
+        OptionalLong epoch = securityEpochSource.currentEpoch(token.userId());
+
+        return epoch.isPresent() && token.isCurrentFor(token.userId(), epoch.getAsLong());
+    }
+}
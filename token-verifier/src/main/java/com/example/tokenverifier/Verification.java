@@ -0,0 +1,19 @@
+package com.example.tokenverifier;
+
+/**
+ * Outcome of {@link TokenVerifier#verify(String)}. {@code token} is set whenever the signature was
+ * valid, including for revoked tokens.
+ */
+public record Verification(Status status, VerifiedToken token) {
+
+    public enum Status {
+        ACTIVE,
+        EXPIRED,
+        INVALID,
+        REVOKED
+    }
+
+    public boolean isActive() {
+        return status == Status.ACTIVE;
+    }
+}
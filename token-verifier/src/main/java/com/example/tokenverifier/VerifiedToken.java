@@ -0,0 +1,39 @@
+package com.example.tokenverifier;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * The claims of a token whose signature and expiry have been checked, mapped to plain fields.
+ */
+public record VerifiedToken(
+        String tokenId,
+        String subject,
+        Long userId,
+        Long securityEpoch,
+        Instant issuedAt,
+        Instant expiresAt) {
+
+    public static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get(TokenClaims.USER_ID, Long.class),
+                claims.get(TokenClaims.SECURITY_EPOCH, Long.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        );
+    }
+
+    /**
+     * Whether the token was issued to this account at its current security epoch. A re-created
+     * account with the same username has a different id, so its predecessor's tokens do not match.
+     */
+    public boolean isCurrentFor(long userId, long securityEpoch) {
+        return this.userId != null
+                && this.securityEpoch != null
+                && this.userId == userId
+                && this.securityEpoch == securityEpoch;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.tokenverifier;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Serializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tokens shaped exactly like the issuer's, checked against the verification rules every consumer
+ * relies on: key lookup by {@code kid}, rotation, JWKS round trip, expiry, tampering and epochs.
+ */
+class TokenVerifierConformanceTest {
+
+    private static final String SECRET_KEY = "dGVzdC1zZWNyZXQta2V5LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzMjU2LXNpZ25pbmc";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ES256", "EdDSA"})
+    void testShouldVerifyTokenThroughPublishedJwks(String algorithm) {
+        //  given
+        SigningKeyRing issuer = new SigningKeyRing(SigningKeyRing.generate("key-1", algorithm), List.of(), null);
+        String token = sign(issuer.active(), 42L, 3L, 60_000);
+
+        //  when
+        SigningKeyRing consumer = SigningKeyRing.fromJwks(toJson(issuer.jwks()));
+        Verification verification = new TokenVerifier(consumer).verify(token);
+
+        //  then
+        assertTrue(verification.isActive());
+        assertEquals("janedoe", verification.token().subject());
+        assertEquals(42L, verification.token().userId());
+        assertEquals(3L, verification.token().securityEpoch());
+        assertNull(consumer.active());
+    }
+
+    @Test
+    void testShouldKeepVerifyingTokensOfRetiredKey() {
+        //  given
+        SigningKeyRing.SigningKey oldKey = SigningKeyRing.generate("old", "ES256");
+        SigningKeyRing.SigningKey newKey = SigningKeyRing.generate("new", "ES256");
+        String oldToken = sign(oldKey, 42L, 0L, 60_000);
+
+        //  when
+        TokenVerifier rotated = new TokenVerifier(new SigningKeyRing(newKey, List.of(publicOnly(oldKey)), null));
+        TokenVerifier withoutOldKey = new TokenVerifier(new SigningKeyRing(newKey, List.of(), null));
+
+        //  then
+        assertTrue(rotated.verify(oldToken).isActive());
+        assertEquals(Verification.Status.INVALID, withoutOldKey.verify(oldToken).status());
+    }
+
+    @Test
+    void testShouldVerifyLegacyTokensWithoutKid() {
+        //  given
+        SigningKeyRing hmac = SigningKeyRing.hmac(SECRET_KEY);
+        String legacyToken = Jwts.builder()
+                .subject("janedoe")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(hmac.active().signingKey())
+                .compact();
+
+        //  when
+        TokenVerifier underTest = new TokenVerifier(new SigningKeyRing(
+                SigningKeyRing.generate("key-1", "ES256"), List.of(), hmac.active().verificationKey()));
+
+        //  then
+        assertTrue(underTest.verify(legacyToken).isActive());
+    }
+
+    @Test
+    void testShouldRejectExpiredTamperedAndUnsignedTokens() {
+        //  given
+        SigningKeyRing ring = new SigningKeyRing(SigningKeyRing.generate("key-1", "ES256"), List.of(), null);
+        TokenVerifier underTest = new TokenVerifier(ring);
+        String valid = sign(ring.active(), 42L, 0L, 60_000);
+        String[] parts = valid.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\",\"exp\":4102444800}".getBytes());
+        String unsigned = Jwts.builder().subject("janedoe").compact();
+
+        //  then
+        assertEquals(Verification.Status.EXPIRED, underTest.verify(sign(ring.active(), 42L, 0L, -1_000)).status());
+        assertEquals(Verification.Status.INVALID,
+                underTest.verify(parts[0] + "." + forgedPayload + "." + parts[2]).status());
+        assertEquals(Verification.Status.INVALID, underTest.verify(unsigned).status());
+        assertEquals(Verification.Status.INVALID, underTest.verify("").status());
+    }
+
+    @Test
+    void testShouldRejectRevokedAndStaleEpochTokens() {
+        //  given
+        SigningKeyRing ring = new SigningKeyRing(SigningKeyRing.generate("key-1", "EdDSA"), List.of(), null);
+        String token = sign(ring.active(), 42L, 1L, 60_000);
+
+        //  when
+        TokenVerifier revoked = new TokenVerifier(ring, tokenId -> true, null);
+        TokenVerifier currentEpoch = new TokenVerifier(ring, RevocationCheck.NONE, userId -> OptionalLong.of(1L));
+        TokenVerifier bumpedEpoch = new TokenVerifier(ring, RevocationCheck.NONE, userId -> OptionalLong.of(2L));
+        TokenVerifier unknownUser = new TokenVerifier(ring, RevocationCheck.NONE, userId -> OptionalLong.empty());
+
+        //  then
+        assertEquals(Verification.Status.REVOKED, revoked.verify(token).status());
+        assertTrue(currentEpoch.verify(token).isActive());
+        assertEquals(Verification.Status.REVOKED, bumpedEpoch.verify(token).status());
+        assertEquals(Verification.Status.REVOKED, unknownUser.verify(token).status());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testShouldPublishOnlyPublicKeys() {
+        //  given
+        SigningKeyRing.SigningKey active = SigningKeyRing.generate("new", "ES256");
+        SigningKeyRing.SigningKey retired = publicOnly(SigningKeyRing.generate("old", "EdDSA"));
+
+        //  when
+        SigningKeyRing underTest = new SigningKeyRing(active, List.of(retired), null);
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) underTest.jwks().get("keys");
+
+        //  then
+        assertEquals(List.of("new", "old"), keys.stream().map(key -> key.get("kid")).toList());
+        assertEquals(List.of("ES256", "EdDSA"), keys.stream().map(key -> key.get("alg")).toList());
+        assertTrue(keys.stream().noneMatch(key -> key.containsKey("d")));
+        assertTrue(((List<?>) SigningKeyRing.hmac(SECRET_KEY).jwks().get("keys")).isEmpty());
+        assertFalse(underTest.jwksETag().isBlank());
+    }
+
+    private static String sign(SigningKeyRing.SigningKey key, long userId, long epoch, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Key signingKey = key.signingKey();
+
+        return Jwts.builder()
+                .header().keyId(key.kid()).and()
+                .id("token-" + now)
+                .subject("janedoe")
+                .claim(TokenClaims.USER_ID, userId)
+                .claim(TokenClaims.SECURITY_EPOCH, epoch)
+                .issuedAt(new Date(now - 5_000))
+                .expiration(new Date(now + ttlMillis))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    private static SigningKeyRing.SigningKey publicOnly(SigningKeyRing.SigningKey key) {
+        return new SigningKeyRing.SigningKey(key.kid(), key.algorithm(), null, key.verificationKey());
+    }
+
+    // Serialized with whatever JSON provider JJWT discovers, the same way a consumer would read it.
+    @SuppressWarnings("unchecked")
+    private static String toJson(Map<String, Object> jwks) {
+        Serializer<Map<String, ?>> serializer = ServiceLoader.load(Serializer.class).findFirst().orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(jwks, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}